@@ -1,9 +1,11 @@
-from fastapi import FastAPI, UploadFile, File, HTTPException, BackgroundTasks
+from fastapi import FastAPI, UploadFile, File, Form, HTTPException, BackgroundTasks
 from fastapi.responses import JSONResponse
 import os
 import uuid
 import json
-from typing import Dict
+import urllib.request
+from typing import Dict, List, Optional
+from pydantic import BaseModel
 from contextlib import asynccontextmanager
 
 # 로컬 파일 import
@@ -29,7 +31,24 @@ app = FastAPI(
 # 작업 상태와 결과를 저장할 인메모리 딕셔너리
 tasks: Dict[str, Dict] = {}
 
-def process_video_in_background(task_id: str, temp_video_path: str):
+# 콜백 요청에 실어 보낼 공유 비밀값 (백엔드의 ai.callback.token 과 같은 값)
+CALLBACK_TOKEN = os.environ.get("CALLBACK_TOKEN", "")
+
+def send_callback(task_id: str, callback_url: str):
+    """
+    분석이 끝난 작업의 상태와 결과를 백엔드 콜백 주소로 POST 합니다.
+    실패해도 백엔드가 /tasks/{task_id} 폴링으로 결과를 가져가므로 로그만 남깁니다.
+    """
+    payload = json.dumps({"task_id": task_id, **tasks[task_id]}, ensure_ascii=False).encode("utf-8")
+    request = urllib.request.Request(callback_url, data=payload, method="POST",
+                                     headers={"Content-Type": "application/json", "X-Callback-Token": CALLBACK_TOKEN})
+    try:
+        with urllib.request.urlopen(request, timeout=10) as response:
+            print(f"[Task: {task_id}] 콜백 전송 완료. 상태 코드: {response.status}")
+    except Exception as e:
+        print(f"[Task: {task_id}] 콜백 전송 실패: {e}")
+
+def process_video_in_background(task_id: str, temp_video_path: str, callback_url: Optional[str] = None):
     """
     실제 분석 작업을 수행하는 백그라운드 함수
     """
@@ -65,11 +84,16 @@ def process_video_in_background(task_id: str, temp_video_path: str):
         remove_file(temp_video_path)
         print(f"[Task: {task_id}] 임시 파일 삭제 완료.")
 
+    # 5. 콜백 주소가 있으면 결과를 바로 전달
+    if callback_url:
+        send_callback(task_id, callback_url)
+
 
 @app.post("/process-video", status_code=202, summary="영상 분석 작업 요청 (백그라운드)")
 async def request_video_processing(
     background_tasks: BackgroundTasks,
-    video: UploadFile = File(..., description="사용자의 자기소개 영상 파일 (mp4, mov 등)")
+    video: UploadFile = File(..., description="사용자의 자기소개 영상 파일 (mp4, mov 등)"),
+    callback_url: Optional[str] = Form(None, description="분석 완료 시 결과를 POST 할 주소 (없으면 폴링으로 조회)")
 ):
     """
     영상 분석을 요청하고 즉시 작업 ID를 반환합니다.
@@ -80,7 +104,7 @@ async def request_video_processing(
     tasks[task_id] = {"status": "processing", "result": None}
     
     # FastAPI의 BackgroundTasks에 실제 분석 함수를 등록합니다.
-    background_tasks.add_task(process_video_in_background, task_id, temp_video_path)
+    background_tasks.add_task(process_video_in_background, task_id, temp_video_path, callback_url)
     
     return {"task_id": task_id, "message": "영상 분석 작업이 시작되었습니다."}
 
@@ -95,3 +119,19 @@ async def get_task_status(task_id: str):
         raise HTTPException(status_code=404, detail="작업을 찾을 수 없습니다.")
     
     return JSONResponse(content=task)
+
+
+class TaskStatusRequest(BaseModel):
+    task_ids: List[str]
+
+
+@app.post("/tasks/status", summary="여러 작업의 상태 및 결과 일괄 조회")
+async def get_task_statuses(request: TaskStatusRequest):
+    """
+    여러 작업 ID의 분석 진행 상태와 최종 결과를 한 번에 확인합니다.
+    존재하지 않는 작업은 status 가 not_found 로 반환됩니다.
+    """
+    return JSONResponse(content={
+        task_id: tasks.get(task_id, {"status": "not_found", "result": None})
+        for task_id in request.task_ids
+    })
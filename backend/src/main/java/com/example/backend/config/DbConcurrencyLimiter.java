@@ -0,0 +1,126 @@
+package com.example.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 가상 스레드 모드에서 동시에 DB 커넥션을 쓰는 작업 수를 커넥션 풀 크기로 제한
+ * - 요청마다 가상 스레드가 생기므로 수천 개가 동시에 커넥션을 기다릴 수 있음
+ *   → 커넥션 풀 앞에서 공정(fair) 세마포어로 순서대로 대기시키고, 대기 시간이 길면 바로 실패시킴
+ * - 커넥션을 얻을 때 permit 을 잡고, 커넥션을 close(풀에 반납)할 때 돌려줌
+ *   (@Transactional 은 트랜잭션 시작 시 커넥션을 얻고 끝날 때 반납하므로 트랜잭션 단위로 제한됨)
+ */
+@Component
+@ConditionalOnProperty(name = "execution.virtual-threads.enabled", havingValue = "true")
+public class DbConcurrencyLimiter implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(DbConcurrencyLimiter.class);
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutMs;
+
+    public DbConcurrencyLimiter(
+            @Value("${execution.db-permits:${spring.datasource.hikari.maximum-pool-size:10}}") int maxPermits,
+            @Value("${execution.db-permits-timeout-ms:${spring.datasource.hikari.connection-timeout:30000}}") long acquireTimeoutMs) {
+        this.maxPermits = maxPermits;
+        this.permits = new Semaphore(maxPermits, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof LimitedDataSource)) {
+            log.info(">>>>> DB 동시 사용 제한 적용: {} ({}개)", beanName, maxPermits);
+            return new LimitedDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+                "maxPermits", maxPermits,
+                "availablePermits", permits.availablePermits(),
+                "queueLength", permits.getQueueLength());
+    }
+
+    private final class LimitedDataSource extends DelegatingDataSource {
+
+        private LimitedDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            try {
+                return releasingOnClose(super.getConnection());
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            try {
+                return releasingOnClose(super.getConnection(username, password));
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        private void acquire() throws SQLException {
+            try {
+                if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException("DB 사용 대기 시간 초과 (" + acquireTimeoutMs + "ms)");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("DB 사용 대기 중 인터럽트", e);
+            }
+        }
+
+        /**
+         * close() 가 처음 호출될 때 permit 을 돌려주는 커넥션 프록시
+         */
+        private Connection releasingOnClose(Connection connection) {
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(DbConcurrencyLimiter.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            } finally {
+                                permits.release();
+                            }
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * AI 서버, 카카오 API 호출에 함께 쓰는 외부 HTTP 클라이언트
+ * - JDK HttpClient 하나를 공유하므로 목적지별 커넥션이 keep-alive 로 재사용됨 (요청마다 새 연결 X)
+ * - 연결/응답 시간 제한이 있어 느린 외부 서버가 스레드를 무기한 잡지 않음
+ * - 목적지별 동시 요청 수 제한과 지연 시간 집계는 OutboundHttpMetrics 가 요청 팩토리를 감싸서 담당
+ * - 영상 업로드(/process-video)는 본문 전송 시간이 업로드 속도에 달려 있으므로, 요청 전체 시간 제한이 없는 별도 RestTemplate 사용
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.client.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    // 유휴 커넥션 유지 시간 (JDK 기본값 1200초는 서버/로드밸런서의 keep-alive 보다 길어서 끊긴 연결을 재사용할 수 있음)
+    @Value("${http.client.keep-alive-seconds:30}")
+    private int keepAliveSeconds;
+
+    // h2c 를 지원하지 않는 서버와는 자동으로 HTTP/1.1 로 통신
+    @Value("${http.client.http2-enabled:false}")
+    private boolean http2Enabled;
+
+    @Bean
+    public HttpClient outboundHttpClient() {
+        // JDK HttpClient 커넥션 풀 설정은 시스템 프로퍼티로만 지정 가능 (첫 HttpClient 생성 전에 설정해야 적용됨)
+        if (System.getProperty("jdk.httpclient.keepalive.timeout") == null) {
+            System.setProperty("jdk.httpclient.keepalive.timeout", String.valueOf(keepAliveSeconds));
+        }
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .version(http2Enabled ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    // 영상 업로드 요청 전체 시간 제한 (0 이면 제한 없음, 연결 시간 제한은 공용 설정을 따름)
+    @Value("${ai.upload.timeout-ms:0}")
+    private long uploadTimeoutMs;
+
+    @Bean
+    @Primary
+    public RestTemplate restTemplate(HttpClient outboundHttpClient, OutboundHttpMetrics outboundHttpMetrics) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(outboundHttpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return new RestTemplate(outboundHttpMetrics.instrument(requestFactory));
+    }
+
+    /**
+     * AI 서버 영상 업로드 전용 (read-timeout-ms 는 요청 전체에 걸리므로 긴 업로드가 도중에 끊기지 않도록 따로 둠)
+     */
+    @Bean
+    public RestTemplate aiUploadRestTemplate(HttpClient outboundHttpClient, OutboundHttpMetrics outboundHttpMetrics) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(outboundHttpClient);
+        if (uploadTimeoutMs > 0) {
+            requestFactory.setReadTimeout(Duration.ofMillis(uploadTimeoutMs));
+        }
+
+        return new RestTemplate(outboundHttpMetrics.instrument(requestFactory));
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+
+/**
+ * 외부 HTTP 호출(AI 서버, 카카오 API) 공용 계측
+ * - 목적지(host:port)별 동시 요청 수 제한: 한 목적지가 느려져도 다른 목적지 호출이나 전체 스레드를 다 잡아먹지 않도록 함
+ * - 엔드포인트(메서드 + 경로 템플릿)별 지연 시간 히스토그램과 목적지별 동시 요청/대기 수 집계
+ * - RestTemplate 인터셉터는 요청 본문(영상 파일)을 메모리에 통째로 버퍼링하므로, 대신 요청 팩토리를 감싸서 스트리밍을 유지
+ */
+@Component
+public class OutboundHttpMetrics {
+
+    // 히스토그램 구간 상한 (ms), 마지막 구간은 그 이상
+    private static final long[] BUCKET_BOUNDS_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+    // 경로 중 ID 처럼 보이는 부분(숫자, UUID 등)은 {id} 로 묶어서 집계
+    private static final Pattern ID_SEGMENT = Pattern.compile("^(\\d+|[0-9a-fA-F-]{16,})$");
+
+    @Value("${http.client.max-per-destination:20}")
+    private int maxPerDestination;
+
+    @Value("${http.client.acquire-timeout-ms:5000}")
+    private long acquireTimeoutMs;
+
+    private final Map<String, Semaphore> destinations = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> endpoints = new ConcurrentHashMap<>();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * 요청 팩토리를 감싸서 요청마다 동시 요청 수 제한과 지연 시간 집계를 적용
+     */
+    public ClientHttpRequestFactory instrument(ClientHttpRequestFactory delegate) {
+        return (uri, httpMethod) -> new MeasuredRequest(delegate.createRequest(uri, httpMethod));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> destinationStats = new TreeMap<>();
+        destinations.forEach((destination, permits) -> destinationStats.put(destination, Map.of(
+                "inUse", maxPerDestination - permits.availablePermits(),
+                "waiting", permits.getQueueLength(),
+                "max", maxPerDestination)));
+
+        Map<String, Object> endpointStats = new TreeMap<>();
+        endpoints.forEach((endpoint, histogram) -> endpointStats.put(endpoint, histogram.snapshot()));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("destinations", destinationStats);
+        stats.put("endpoints", endpointStats);
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+
+    private void acquire(Semaphore permits, String destination) {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+                throw new ResourceAccessException("외부 호출 동시 요청 수 초과: " + destination);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("외부 호출 대기 중 인터럽트: " + destination);
+        }
+    }
+
+    private static String pathTemplate(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        StringBuilder template = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            template.append('/').append(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+        }
+        return template.length() == 0 ? "/" : template.toString();
+    }
+
+    /**
+     * 실행(응답 헤더 수신까지) 동안 목적지 permit 을 잡고 지연 시간을 기록하는 요청
+     * 원래 요청이 스트리밍 본문을 지원하면 그대로 넘겨서 본문을 버퍼링하지 않음
+     */
+    private final class MeasuredRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+        private final ClientHttpRequest delegate;
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        private MeasuredRequest(ClientHttpRequest delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void setBody(Body body) {
+            if (delegate instanceof StreamingHttpOutputMessage streaming) {
+                streaming.setBody(body);
+                return;
+            }
+            try {
+                body.writeTo(delegate.getBody());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            URI uri = getURI();
+            String destination = uri.getHost() + ":" + uri.getPort();
+            Semaphore permits = destinations.computeIfAbsent(destination, key -> new Semaphore(maxPerDestination, true));
+            acquire(permits, destination);
+
+            Histogram histogram = endpoints.computeIfAbsent(getMethod() + " " + uri.getHost() + pathTemplate(uri.getPath()),
+                    key -> new Histogram());
+            long startedAt = System.nanoTime();
+            boolean failed = true;
+            try {
+                ClientHttpResponse response = delegate.execute();
+                failed = response.getStatusCode().isError();
+                return response;
+            } finally {
+                histogram.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), failed);
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * 고정 구간 지연 시간 히스토그램 (구간 카운트로 백분위 추정)
+     */
+    private static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong totalMs = new AtomicLong();
+        private final AtomicLong maxMs = new AtomicLong();
+
+        private void record(long elapsedMs, boolean failed) {
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MS.length && elapsedMs > BUCKET_BOUNDS_MS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            count.incrementAndGet();
+            totalMs.addAndGet(elapsedMs);
+            maxMs.accumulateAndGet(elapsedMs, Math::max);
+            if (failed) {
+                errors.incrementAndGet();
+            }
+        }
+
+        private Map<String, Object> snapshot() {
+            long total = count.get();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("count", total);
+            snapshot.put("errors", errors.get());
+            snapshot.put("avgMs", total == 0 ? 0 : totalMs.get() / total);
+            snapshot.put("maxMs", maxMs.get());
+            snapshot.put("p50Ms", percentile(total, 0.50));
+            snapshot.put("p95Ms", percentile(total, 0.95));
+            snapshot.put("p99Ms", percentile(total, 0.99));
+
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < buckets.length(); i++) {
+                histogram.put(i < BUCKET_BOUNDS_MS.length ? "le" + BUCKET_BOUNDS_MS[i] : "inf", buckets.get(i));
+            }
+            snapshot.put("buckets", histogram);
+            return snapshot;
+        }
+
+        // 해당 백분위가 속한 구간의 상한 (마지막 구간이면 최댓값)
+        private long percentile(long total, double quantile) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return i < BUCKET_BOUNDS_MS.length ? BUCKET_BOUNDS_MS[i] : maxMs.get();
+                }
+            }
+            return maxMs.get();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * @Scheduled 작업 실행 스레드 풀
+ * - 기본 스케줄러는 스레드가 하나라서, 오래 걸리는 작업(폴링, 배치 시작 등) 하나가 다른 @Scheduled 작업(heartbeat, 캐시 정리 등)을 모두 멈추게 함
+ * - 오래 걸리는 작업 본문은 각자 실행기로 넘기고, 스케줄러 스레드는 시작만 담당
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Value("${scheduling.pool-size:4}")
+    private int poolSize;
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        return scheduler;
+    }
+}
@@ -1,20 +1,31 @@
 package com.example.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // 내부 지표(/internal/**) 요청의 X-Internal-Token 헤더와 비교할 값 (비어있으면 내부 지표 요청을 모두 거부)
+    @Value("${internal.stats.token:}")
+    private String internalToken;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
-                // 1. 모든 HTTP 요청에 대해 인증 없이 접근 허용
+                // 1. 내부 지표는 토큰이 맞을 때만, 나머지 HTTP 요청은 인증 없이 접근 허용
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/internal/**").access((authentication, context) ->
+                                new AuthorizationDecision(isValidInternalToken(context.getRequest().getHeader("X-Internal-Token"))))
                         .anyRequest().permitAll()
                 )
                 // 2. CSRF 보호 기능 비활성화 (API 서버에서는 보통 비활성화)
@@ -25,4 +36,12 @@ public class SecurityConfig {
 
         return http.build();
     }
-}
\ No newline at end of file
+
+    private boolean isValidInternalToken(String token) {
+        if (internalToken.isBlank() || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                internalToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.backend.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 스레드 실행 모드 (execution.virtual-threads.enabled=true 일 때만 적용, 기본은 기존 플랫폼 스레드 풀)
+ * - Tomcat 요청 처리와 @Async 실행기를 요청/작업마다 가상 스레드 하나로 실행
+ *   → AI 서버, 카카오 API, JPA 호출처럼 블로킹 I/O 가 많아도 스레드 풀 크기에 처리량이 묶이지 않음
+ * - 대신 동시에 DB 를 쓰는 작업 수는 DbConcurrencyLimiter 가 커넥션 풀 크기로 제한
+ * - synchronized 안에서 블로킹되어 캐리어 스레드가 묶이는(pinning) 경우를 JFR 이벤트로 감지해 로그로 남김
+ */
+@Configuration
+@ConditionalOnProperty(name = "execution.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Value("${execution.virtual-threads.pinning-diagnostics:true}")
+    private boolean pinningDiagnostics;
+
+    // 이 시간보다 오래 pinning 된 경우만 기록
+    @Value("${execution.virtual-threads.pinning-threshold-ms:20}")
+    private long pinningThresholdMs;
+
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private RecordingStream pinningStream;
+
+    /**
+     * Tomcat 요청 처리 스레드 풀을 가상 스레드 실행기로 교체
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * @EnableAsync 가 사용하는 기본 실행기를 가상 스레드 실행기로 교체
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * 가상 스레드 pinning 감지 (jdk.VirtualThreadPinned JFR 이벤트)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPinningDiagnostics() {
+        if (!pinningDiagnostics) {
+            return;
+        }
+        pinningStream = new RecordingStream();
+        pinningStream.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(pinningThresholdMs))
+                .withStackTrace();
+        pinningStream.onEvent("jdk.VirtualThreadPinned", event -> {
+            pinnedEvents.incrementAndGet();
+            List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+            StringBuilder stack = new StringBuilder();
+            for (int i = 0; i < Math.min(frames.size(), 8); i++) {
+                RecordedFrame frame = frames.get(i);
+                stack.append("\n\tat ").append(frame.getMethod().getType().getName())
+                        .append('.').append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+            log.warn(">>>>> 가상 스레드 pinning 감지 ({}ms){}", event.getDuration().toMillis(), stack);
+        });
+        pinningStream.startAsync();
+        log.info(">>>>> 가상 스레드 실행 모드, pinning 감지 기준: {}ms", pinningThresholdMs);
+    }
+
+    public long pinnedEvents() {
+        return pinnedEvents.get();
+    }
+
+    @PreDestroy
+    public void stopPinningDiagnostics() {
+        if (pinningStream != null) {
+            pinningStream.close();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.AiTaskDto;
+import com.example.backend.service.AiAnalysisService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/ai")
+@RequiredArgsConstructor
+public class AiCallbackController {
+    private final AiAnalysisService aiAnalysisService;
+
+    /**
+     * AI 서버가 영상 분석을 마치면 결과를 보내는 콜백
+     * 같은 작업의 결과가 여러 번 오거나 폴링과 겹쳐도 한 번만 반영됨
+     */
+    @PostMapping("/callback")
+    public ResponseEntity<Void> callback(
+            @RequestHeader(value = "X-Callback-Token", required = false) String token,
+            @RequestBody AiTaskDto task) {
+        if (!aiAnalysisService.isValidCallbackToken(token)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        aiAnalysisService.handleTaskResult(task);
+        return ResponseEntity.ok().build();
+    }
+}
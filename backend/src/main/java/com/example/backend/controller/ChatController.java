@@ -2,42 +2,85 @@ package com.example.backend.controller;
 import com.example.backend.dto.ChatRoomDto;
 import com.example.backend.dto.MessageRequestDto;
 import com.example.backend.dto.MessageResponseDto;
+import com.example.backend.dto.ReadStateDto;
 import com.example.backend.entity.Message;
 import com.example.backend.entity.Room;
 import com.example.backend.service.ChatService;
+import com.example.backend.service.ChatStreamService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/chats")
 @RequiredArgsConstructor
 public class ChatController {
     private final ChatService chatService;
+    private final ChatStreamService chatStreamService;
 
+    /**
+     * 내 채팅방들의 새 메시지를 실시간으로 받는 SSE 스트림
+     * 재연결 시 Last-Event-ID 헤더(또는 after 파라미터)로 마지막으로 받은 메시지 ID 를 주면 그 이후 메시지부터 전달
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestHeader("X-User-Id") Long currentUserId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long after) {
+        return chatStreamService.connect(currentUserId, lastEventId != null ? lastEventId : after);
+    }
+
+    /**
+     * 채팅방 메시지 조회 (keyset 페이지네이션)
+     * @param before 이 메시지 ID 이전(과거) 메시지 조회용 커서
+     * @param after 이 메시지 ID 이후(새) 메시지 조회용 커서
+     * @param size 페이지 크기 (기본 50, 최대 200)
+     * @return 오래된 순으로 정렬된 메시지 목록 (before 와 after 를 함께 보내면 400)
+     */
     @GetMapping("/{chatId}/messages")
-    public ResponseEntity<List<MessageResponseDto>> getMessages(@PathVariable Long chatId) {
-        return ResponseEntity.ok(chatService.getMessages(chatId).stream()
-                .map(MessageResponseDto::new)
-                .collect(Collectors.toList()));
+    public ResponseEntity<List<MessageResponseDto>> getMessages(
+            @PathVariable Long chatId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + ChatService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(chatService.getMessages(chatId, before, after, size));
     }
 
+    /**
+     * 메시지 전송
+     * @param after 클라이언트가 마지막으로 받은 메시지 ID (지정 시 그 이후 메시지 전체, 없으면 방금 보낸 메시지만 반환)
+     */
     @PostMapping("/{chatId}/message")
     public ResponseEntity<List<MessageResponseDto>> sendMessage(
             @RequestHeader("X-User-Id") Long currentUserId,
             @PathVariable Long chatId,
+            @RequestParam(required = false) Long after,
             @RequestBody MessageRequestDto requestDto) {
 
-        chatService.sendMessage(chatId, currentUserId, requestDto);
+        Message newMessage = chatService.sendMessage(chatId, currentUserId, requestDto);
 
         // 컨트롤러에서 엔티티를 DTO로 변환하여 클라이언트에게 응답
-        // ** 수정: 우선은 Service 레벨에서 해당 채팅방의 전체 메세지 리스트 반환
-        return ResponseEntity.ok(chatService.getMessages(chatId).stream()
-                .map(MessageResponseDto::new)
-                .collect(Collectors.toList()));
+        // 전체 메시지 대신 새 메시지(또는 클라이언트 커서 이후 메시지)만 반환
+        if (after == null) {
+            return ResponseEntity.ok(List.of(new MessageResponseDto(newMessage)));
+        }
+        return ResponseEntity.ok(chatService.getMessages(chatId, null, after, ChatService.DEFAULT_PAGE_SIZE));
+    }
+
+    /**
+     * 채팅방 읽음 처리
+     * @param messageId 마지막으로 읽은 메시지 ID (없으면 최신 메시지까지 읽음 처리)
+     */
+    @PostMapping("/{chatId}/read")
+    public ResponseEntity<ReadStateDto> markRead(
+            @RequestHeader("X-User-Id") Long currentUserId,
+            @PathVariable Long chatId,
+            @RequestParam(required = false) Long messageId) {
+        return ResponseEntity.ok(chatService.markRead(chatId, currentUserId, messageId));
     }
 
     @PostMapping("/rooms")
@@ -0,0 +1,49 @@
+package com.example.backend.controller;
+
+import com.example.backend.service.MediaService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 저장된 영상 파일 제공 (/media/**)
+ *
+ *          * 013BE/
+ *         *   backend/   <-- Spring Boot 프로젝트 루트
+ *         *     media/   <-- FileStorageService 가 여기 저장함
+ *         *     src/
+ *         *     build...
+ */
+@RestController
+@RequestMapping("/media")
+@RequiredArgsConstructor
+public class MediaController {
+    private static final String PREFIX = "/media/";
+
+    private final MediaService mediaService;
+
+    @GetMapping("/**")
+    public void getMedia(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        mediaService.serve(relativePath(request), request, response, false);
+    }
+
+    @RequestMapping(value = "/**", method = RequestMethod.HEAD)
+    public void headMedia(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        mediaService.serve(relativePath(request), request, response, true);
+    }
+
+    // 요청 경로에서 /media/ 뒤의 파일 경로만 꺼냄 (파일 이름에 한글 등이 있을 수 있으므로 디코딩)
+    private static String relativePath(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String relative = path.startsWith(PREFIX) ? path.substring(PREFIX.length()) : "";
+        return UriUtils.decode(relative, StandardCharsets.UTF_8);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.backend.controller;
 import com.example.backend.dto.AdditionalRecommendationRequestDto;
 import com.example.backend.dto.RecommendedUserDto;
 import com.example.backend.dto.RoomResponseDto;
+import com.example.backend.entity.PointLedger;
 import com.example.backend.entity.Recommendation;
 import com.example.backend.entity.Room;
 import com.example.backend.service.ChatService;
@@ -48,7 +49,7 @@ public class RecommendationController {
             @PathVariable Long targetUserId) {
 
         // 연락하기 시도 시에 차감하는 포인트
-        userService.deductPoints(currentUserId, CONTACT_POINT);
+        userService.deductPoints(currentUserId, CONTACT_POINT, PointLedger.Reason.CONTACT);
 
         Room createdRoom = chatService.createChatRoomAndSendVideo(currentUserId, targetUserId);
         return ResponseEntity.ok(new RoomResponseDto(createdRoom));
@@ -0,0 +1,101 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.DbConcurrencyLimiter;
+import com.example.backend.config.OutboundHttpMetrics;
+import com.example.backend.config.VirtualThreadConfig;
+import com.example.backend.service.AiAnalysisService;
+import com.example.backend.service.AnalysisJobWorker;
+import com.example.backend.service.DailyRecommendationCache;
+import com.example.backend.service.DistrictResolver;
+import com.example.backend.service.FileStorageService;
+import com.example.backend.service.GeocodeCache;
+import com.example.backend.service.RecentMessageCache;
+import com.example.backend.service.TeeUploadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 운영 확인용 내부 지표 조회 (캐시 적중률, 메모리 사용량 등)
+ * X-Internal-Token 헤더가 internal.stats.token 과 같을 때만 허용 (SecurityConfig)
+ */
+@RestController
+@RequestMapping("/internal/stats")
+@RequiredArgsConstructor
+public class StatsController {
+    private final RecentMessageCache recentMessageCache;
+    private final AnalysisJobWorker analysisJobWorker;
+    private final OutboundHttpMetrics outboundHttpMetrics;
+    private final FileStorageService fileStorageService;
+    private final AiAnalysisService aiAnalysisService;
+    private final TeeUploadService teeUploadService;
+    private final GeocodeCache geocodeCache;
+    private final DistrictResolver districtResolver;
+    private final DailyRecommendationCache dailyRecommendationCache;
+    // 가상 스레드 모드일 때만 등록되는 빈
+    private final ObjectProvider<VirtualThreadConfig> virtualThreadConfig;
+    private final ObjectProvider<DbConcurrencyLimiter> dbConcurrencyLimiter;
+
+    @GetMapping("/chat-cache")
+    public ResponseEntity<Map<String, Object>> chatCache() {
+        return ResponseEntity.ok(recentMessageCache.stats());
+    }
+
+    @GetMapping("/analysis-queue")
+    public ResponseEntity<Map<String, Object>> analysisQueue() {
+        return ResponseEntity.ok(analysisJobWorker.stats());
+    }
+
+    @GetMapping("/http-client")
+    public ResponseEntity<Map<String, Object>> httpClient() {
+        return ResponseEntity.ok(outboundHttpMetrics.stats());
+    }
+
+    @GetMapping("/media-store")
+    public ResponseEntity<Map<String, Object>> mediaStore() {
+        Map<String, Object> stats = new LinkedHashMap<>(fileStorageService.stats());
+        stats.put("analysisReused", aiAnalysisService.reusedCount());
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/upload-pipeline")
+    public ResponseEntity<Map<String, Object>> uploadPipeline() {
+        return ResponseEntity.ok(teeUploadService.stats());
+    }
+
+    @GetMapping("/geocode-cache")
+    public ResponseEntity<Map<String, Object>> geocodeCache() {
+        return ResponseEntity.ok(geocodeCache.stats());
+    }
+
+    @GetMapping("/district-resolver")
+    public ResponseEntity<Map<String, Object>> districtResolver() {
+        return ResponseEntity.ok(districtResolver.stats());
+    }
+
+    @GetMapping("/daily-recommendations")
+    public ResponseEntity<Map<String, Object>> dailyRecommendations() {
+        return ResponseEntity.ok(dailyRecommendationCache.stats());
+    }
+
+    @GetMapping("/execution")
+    public ResponseEntity<Map<String, Object>> execution() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        VirtualThreadConfig virtualThreads = virtualThreadConfig.getIfAvailable();
+        stats.put("mode", virtualThreads == null ? "platform" : "virtual");
+        if (virtualThreads != null) {
+            stats.put("pinnedEvents", virtualThreads.pinnedEvents());
+        }
+        DbConcurrencyLimiter limiter = dbConcurrencyLimiter.getIfAvailable();
+        if (limiter != null) {
+            stats.put("dbPermits", limiter.stats());
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
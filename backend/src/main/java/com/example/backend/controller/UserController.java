@@ -1,19 +1,29 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.OnboardingRequestDto;
+import com.example.backend.dto.UploadInitRequestDto;
+import com.example.backend.dto.UploadSessionDto;
 import com.example.backend.entity.User;
+import com.example.backend.service.ChunkedUploadService;
+import com.example.backend.service.TeeUploadService;
 import com.example.backend.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final TeeUploadService teeUploadService;
 
     // 로깅용 Logger 객체
     private static final Logger log = LoggerFactory.getLogger(UserController.class);
@@ -32,6 +42,64 @@ public class UserController {
         return ResponseEntity.ok(newUser);
     }
 
+    /**
+     * 스트리밍 온보딩: 요청 본문(영상 바이트)을 저장하면서 동시에 AI 서버로 전달
+     * 업로드가 끝나는 시점에 AI 서버도 영상을 다 받은 상태라 분석이 바로 시작됨
+     */
+    @PostMapping(value = "/onboarding/stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<User> onboardingStream(
+            @RequestParam(required = false) String fileName,
+            @RequestParam(required = false) String profileUrl,
+            HttpServletRequest request) throws IOException {
+        log.info(">>>>> [API CALL] /users/onboarding/stream 시작, 크기: {}", request.getContentLengthLong());
+        User newUser = teeUploadService.onboard(request.getInputStream(), fileName, profileUrl);
+        log.info(">>>>> 사용자 온보딩 성공, ID: {}", newUser.getId());
+        return ResponseEntity.ok(newUser);
+    }
+
+    /**
+     * 분할 업로드 1단계: 업로드 세션 생성
+     */
+    @PostMapping("/onboarding/uploads")
+    public ResponseEntity<UploadSessionDto> initUpload(@RequestBody UploadInitRequestDto requestDto) {
+        return ResponseEntity.ok(chunkedUploadService.init(requestDto.getFileName(), requestDto.getTotalSize()));
+    }
+
+    /**
+     * 분할 업로드 2단계: 청크 전송 (요청 본문 = 파일의 offset 위치부터의 바이트)
+     * 연결이 끊기면 GET 으로 nextOffset 을 확인한 뒤 그 위치부터 다시 보내면 됨
+     */
+    @PutMapping(value = "/onboarding/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSessionDto> uploadChunk(
+            @PathVariable String uploadId,
+            @RequestParam long offset,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(chunkedUploadService.writeChunk(uploadId, offset, request.getContentLengthLong(), request.getInputStream()));
+    }
+
+    /**
+     * 분할 업로드 진행 상태 (이어받기 위치 확인용)
+     */
+    @GetMapping("/onboarding/uploads/{uploadId}")
+    public ResponseEntity<UploadSessionDto> uploadStatus(@PathVariable String uploadId) {
+        return ResponseEntity.ok(chunkedUploadService.status(uploadId));
+    }
+
+    /**
+     * 분할 업로드 3단계: 업로드 완료 후 기존 온보딩 진행
+     */
+    @PostMapping("/onboarding/uploads/{uploadId}/complete")
+    public ResponseEntity<User> completeUpload(
+            @PathVariable String uploadId,
+            @RequestParam(required = false) String profileUrl) {
+        User newUser = chunkedUploadService.complete(uploadId, videoPath -> {
+            log.info(">>>>> 분할 업로드 완료: {}", videoPath);
+            return userService.onboardUserWithVideo(videoPath, profileUrl);
+        });
+        log.info(">>>>> 사용자 온보딩 성공, ID: {}", newUser.getId());
+        return ResponseEntity.ok(newUser);
+    }
+
     /**
      * @RequestParam 대신 @RequestHeader를 사용하여 헤더에서 사용자 ID를 받도록 수정
      */
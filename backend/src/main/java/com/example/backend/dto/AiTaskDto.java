@@ -0,0 +1,30 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * AI 서버의 분석 작업 상태 (GET /tasks/{task_id} 응답, 완료 콜백 요청 본문)
+ */
+@Getter
+@Setter
+public class AiTaskDto {
+    @JsonProperty("task_id")
+    private String taskId; // 콜백 요청에서만 채워짐 (조회 응답은 조회한 쪽에서 채움)
+    private String status; // processing, completed, failed, not_found(일괄 조회 시 AI 서버에 없는 작업)
+    private AiResponseDto result; // 완료 시 분석 결과
+    private String error; // 실패 시 오류 메시지
+
+    public boolean isCompleted() {
+        return "completed".equals(status);
+    }
+
+    public boolean isFailed() {
+        return "failed".equals(status);
+    }
+
+    public boolean isNotFound() {
+        return "not_found".equals(status);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.backend.dto;
+
+import com.example.backend.entity.Message;
+import lombok.Getter;
+
+/**
+ * 실시간 스트림(SSE)으로 전달하는 채팅 이벤트
+ * 새 메시지와 함께 채팅방 목록의 lastMessage 갱신 정보를 담음
+ */
+@Getter
+public class ChatEventDto {
+    private Long roomId;
+    private String lastMessage;
+    private MessageResponseDto message;
+
+    public ChatEventDto(Message message) {
+        this.roomId = message.getRoom().getId();
+        this.lastMessage = message.toLastMessage();
+        this.message = new MessageResponseDto(message);
+    }
+}
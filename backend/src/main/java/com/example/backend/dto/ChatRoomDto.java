@@ -22,7 +22,14 @@ public class ChatRoomDto {
     private List<String> opponentHobbies;
     private String opponentProfileUrl;
 
-    public ChatRoomDto(Room room, User opponent) {
+    // 내 안 읽은 메시지 수, 마지막으로 읽은 메시지 ID (읽은 적 없으면 null)
+    private int unreadCount;
+    private Long lastReadMessageId;
+
+    /**
+     * @param opponentHobbies 서비스에서 공용 ObjectMapper 로 파싱한 상대방 취미 목록 (파싱 실패 시 null)
+     */
+    public ChatRoomDto(Room room, User opponent, List<String> opponentHobbies) {
         this.roomId = room.getId();
         this.lastMessage = room.getLastMessage();
         this.opponentUserId = opponent.getId();
@@ -30,15 +37,6 @@ public class ChatRoomDto {
         this.opponentLocation = opponent.getLocation();
         this.opponentAge = opponent.getAge();
         this.opponentProfileUrl = opponent.getProfileUrl();
-
-        // hobbies가 JSON 문자열이라면 파싱
-        try {
-            if (opponent.getHobbies() != null && !opponent.getHobbies().isBlank()) {
-                com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-                this.opponentHobbies = mapper.readValue(opponent.getHobbies(), new com.fasterxml.jackson.core.type.TypeReference<>() {});
-            }
-        } catch (Exception e) {
-            this.opponentHobbies = null; // 파싱 실패 시 null
-        }
+        this.opponentHobbies = opponentHobbies;
     }
 }
@@ -0,0 +1,17 @@
+package com.example.backend.dto;
+
+import com.example.backend.entity.Participant;
+import lombok.Getter;
+
+@Getter
+public class ReadStateDto {
+    private Long roomId;
+    private int unreadCount;
+    private Long lastReadMessageId;
+
+    public ReadStateDto(Long roomId, Participant participant) {
+        this.roomId = roomId;
+        this.unreadCount = participant.getUnreadCount();
+        this.lastReadMessageId = participant.getLastReadMessageId();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.backend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class UploadInitRequestDto {
+    private String fileName; // 원본 파일 이름 (저장 파일 이름에 사용)
+    private Long totalSize; // 전체 파일 크기 (bytes)
+}
@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 분할 업로드 진행 상태
+ * 연결이 끊긴 클라이언트는 nextOffset 부터 이어서 청크를 보내면 됨
+ */
+@Getter
+@AllArgsConstructor
+public class UploadSessionDto {
+    private String uploadId;
+    private long totalSize;
+    private long receivedBytes;
+    private long nextOffset; // 아직 받지 못한 첫 위치 (모두 받았으면 totalSize)
+    private long chunkSize; // 권장 청크 크기
+    private boolean complete; // 모든 바이트를 받았는지
+}
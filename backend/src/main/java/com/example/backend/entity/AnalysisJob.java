@@ -0,0 +1,65 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 온보딩 영상 AI 분석 요청 작업 (DB 작업 큐 / outbox)
+ * - onboardUser 와 같은 트랜잭션에서 PENDING 으로 저장되므로 서버가 재시작되어도 작업이 사라지지 않음
+ * - 워커는 SELECT ... FOR UPDATE SKIP LOCKED 로 작업을 가져가 lease 를 잡고, 처리하는 동안 heartbeat 로 lease 를 연장
+ * - lease 가 끝난(워커가 죽은) 작업은 다른 워커가 다시 가져감
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "analysis_jobs", indexes = {
+        // 대기 작업 조회, 만료된 lease 조회용
+        @Index(name = "idx_analysis_jobs_status_next_run_at", columnList = "status, next_run_at"),
+        @Index(name = "idx_analysis_jobs_status_lease_until", columnList = "status, lease_until")
+})
+public class AnalysisJob extends BaseTimeEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "video_path", nullable = false)
+    private String videoPath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    public enum Status {
+        PENDING, // 대기 중 (재시도 대기 포함)
+        RUNNING, // 워커가 lease 를 잡고 처리 중
+        DONE,    // AI 서버에 분석 요청 완료
+        FAILED   // 재시도 횟수 초과
+    }
+
+    // 지금까지 가져간 횟수 (lease 만료로 다시 가져간 경우 포함)
+    @Builder.Default
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    // 이 시각 이후에 가져갈 수 있음 (재시도 백오프)
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    // lease 를 잡은 워커(노드) ID 와 lease 만료 시각
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,32 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 내용 주소(content-addressed) 방식으로 저장된 영상 파일
+ * - 파일 내용의 SHA-256 을 키로 한 번만 저장하고, 같은 영상을 참조하는 사용자 수를 refCount 로 관리
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "media_blobs")
+public class MediaBlob extends BaseTimeEntity {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    // 프론트에서 접근하는 경로 (/media/ab/cd/{sha256}.mp4)
+    @Column(nullable = false)
+    private String path;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount;
+}
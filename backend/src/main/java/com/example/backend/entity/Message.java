@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        // 채팅방별 keyset 페이지네이션 (room_id, id) 용
+        @Index(name = "idx_messages_room_id_id", columnList = "room_id, id")
+})
 public class Message extends BaseTimeEntity {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,4 +43,9 @@ public class Message extends BaseTimeEntity {
         TEXT, VIDEO
     }
 
+    // 채팅방 목록에 보여줄 마지막 메시지 문구 (영상은 안내 문구로 대체)
+    public String toLastMessage() {
+        return messageType == MessageType.TEXT ? messageContent : "영상이 도착했습니다.";
+    }
+
 }
\ No newline at end of file
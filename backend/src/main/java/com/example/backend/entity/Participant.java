@@ -24,4 +24,12 @@ public class Participant extends BaseTimeEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
     private Room room;
-}
\ No newline at end of file
+
+    // 안 읽은 메시지 수: 상대가 메시지를 보낼 때 UPDATE 한 번으로 +1, 읽음 처리 시 재계산
+    @Builder.Default
+    @Column(nullable = false)
+    private int unreadCount = 0;
+
+    // 마지막으로 읽은 메시지 ID (읽은 적 없으면 null)
+    private Long lastReadMessageId;
+}
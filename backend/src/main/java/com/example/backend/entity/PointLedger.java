@@ -0,0 +1,41 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * 포인트 변동 내역 (추가만 하고 수정/삭제하지 않는 원장)
+ * - users.point 를 바꾸는 트랜잭션에서 함께 기록되므로, 사용자별 amount 합으로 잔액 변동을 추적할 수 있음
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Immutable
+@Entity
+@Table(name = "point_ledger", indexes = {
+        // 사용자별 내역 조회용
+        @Index(name = "idx_point_ledger_user_id", columnList = "user_id, id")
+})
+public class PointLedger extends BaseTimeEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    // 변동량 (차감은 음수)
+    @Column(nullable = false, updatable = false)
+    private int amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private Reason reason;
+
+    public enum Reason {
+        CONTACT,                  // 연락하기
+        ADDITIONAL_RECOMMENDATION // 추가 추천 구매
+    }
+}
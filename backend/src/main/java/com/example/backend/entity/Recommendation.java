@@ -15,7 +15,11 @@ import java.time.LocalDate;
 @Table(name = "recommendations")
 public class Recommendation extends BaseTimeEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY 는 insert 마다 DB 가 ID 를 만들어야 해서 JDBC batch insert 가 불가능
+    // → pooled 시퀀스로 ID 를 50개씩 미리 받아와서 saveAll 이 한 번에 묶여 나가도록 함
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recommendation_seq")
+    @SequenceGenerator(name = "recommendation_seq", sequenceName = "recommendations_seq", allocationSize = 50)
     private Long id;
 
     // 추천 사용자 ID
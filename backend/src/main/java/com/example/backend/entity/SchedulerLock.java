@@ -0,0 +1,32 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 여러 노드 중 한 노드에서만 실행해야 하는 예약 작업(배치)의 잠금 행
+ * - lockedUntil 이 지났으면 아무 노드나 조건부 UPDATE 로 가져갈 수 있음
+ * - 노드가 배치 도중 죽어도 lockedUntil 이 지나면 잠금이 풀림
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "scheduler_locks")
+public class SchedulerLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    // 잠금을 가진 노드 ID
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+}
@@ -1,10 +1,20 @@
 package com.example.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // 반경 검색의 위경도 사각형(bounding box) 조건을 인덱스로 처리하기 위함
+        @Index(name = "idx_users_gender_lat_lon", columnList = "gender, latitude, longitude"),
+        // AI 분석 결과 폴링/시간 초과 처리 시 처리 중인 사용자만 찾기 위함
+        @Index(name = "idx_users_status_ai_requested_at", columnList = "status, ai_requested_at"),
+        // 같은 영상으로 분석이 끝난 사용자를 찾아 결과를 재사용하기 위함
+        @Index(name = "idx_users_video_url_status", columnList = "video_url, status")
+})
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,7 +33,13 @@ public class User extends BaseTimeEntity {
     @Column // 실제 어떻게 입력 처리할 지 상의해보고 nullable false 세팅
     private Gender gender;
 
-    public enum Gender{M, F}
+    public enum Gender{
+        M, F;
+
+        public Gender opposite() {
+            return this == M ? F : M;
+        }
+    }
 
     @Column(columnDefinition = "TEXT")
     private String hobbies;  // JSON 형식 텍스트 저장
@@ -57,6 +73,16 @@ public class User extends BaseTimeEntity {
         FAILED      // 처리 실패
     }
 
+    // AI 서버의 분석 작업 ID (콜백/폴링으로 받은 결과를 사용자와 매칭)
+    @JsonIgnore
+    @Column(name = "ai_task_id", unique = true)
+    private String aiTaskId;
+
+    // AI 분석 요청 시각 (폴링 대상 선정 및 시간 초과 판단용)
+    @JsonIgnore
+    @Column(name = "ai_requested_at")
+    private LocalDateTime aiRequestedAt;
+
     @PrePersist
     protected void init(){
         // default 값 더미 데이터
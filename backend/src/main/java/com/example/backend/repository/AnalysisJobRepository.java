@@ -0,0 +1,48 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.AnalysisJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, Long> {
+
+    /**
+     * 지금 가져갈 수 있는 작업(실행 시각이 된 대기 작업, lease 가 만료된 실행 중 작업)을 잠그고 조회
+     * SKIP LOCKED 로 다른 노드가 잠근 행은 건너뛰므로 여러 노드가 서로 기다리지 않고 나눠 가져감
+     * 반드시 트랜잭션 안에서 호출하고, 같은 트랜잭션에서 lease 를 기록해야 함
+     * @param now 현재 시각
+     * @param limit 가져갈 최대 작업 수
+     * @return 잠긴 작업 목록
+     */
+    @Query(value = "SELECT * FROM analysis_jobs j " +
+            "WHERE (j.status = 'PENDING' AND j.next_run_at <= :now) " +
+            "OR (j.status = 'RUNNING' AND j.lease_until < :now) " +
+            "ORDER BY j.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<AnalysisJob> findClaimableForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * heartbeat: 내가 잡고 있는 실행 중 작업들의 lease 연장
+     * @return 연장된 작업 수 (lease 를 잃은 작업은 제외)
+     */
+    @Modifying
+    @Query("UPDATE AnalysisJob j SET j.leaseUntil = :leaseUntil " +
+            "WHERE j.id IN :ids AND j.leaseOwner = :owner AND j.status = :status")
+    int extendLeases(@Param("ids") Collection<Long> ids,
+                     @Param("owner") String owner,
+                     @Param("leaseUntil") LocalDateTime leaseUntil,
+                     @Param("status") AnalysisJob.Status status);
+
+    long countByStatus(AnalysisJob.Status status);
+
+    /**
+     * 가장 오래 기다린 작업의 생성 시각 (큐 지연 지표용)
+     */
+    @Query("SELECT MIN(j.createdAt) FROM AnalysisJob j WHERE j.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") AnalysisJob.Status status);
+}
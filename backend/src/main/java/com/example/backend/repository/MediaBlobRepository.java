@@ -0,0 +1,43 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.MediaBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, String> {
+
+    /**
+     * 파일 참조 추가: 처음 보는 내용이면 refCount 1 로 등록하고, 이미 있으면 refCount 만 1 증가 (원자적 upsert)
+     * 이미 있으면 path 는 바꾸지 않으므로, 다른 확장자로 올린 같은 내용도 처음 등록된 경로를 유지
+     * 온보딩 트랜잭션 안에서 호출되면 사용자 저장과 함께 커밋/롤백됨
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO media_blobs (sha256, path, size, ref_count, created_at, updated_at) " +
+            "VALUES (:sha256, :path, :size, 1, :now, :now) " +
+            "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, updated_at = :now", nativeQuery = true)
+    int addReference(@Param("sha256") String sha256,
+                     @Param("path") String path,
+                     @Param("size") long size,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * 내용 해시로 등록된 파일 경로 (없으면 null)
+     */
+    @Query("SELECT b.path FROM MediaBlob b WHERE b.sha256 = :sha256")
+    String findPathBySha256(@Param("sha256") String sha256);
+
+    /**
+     * 중복 저장을 피해서 아낀 디스크 용량 (참조 수 - 1) * 파일 크기의 합
+     */
+    @Query("SELECT COALESCE(SUM((b.refCount - 1) * b.size), 0) FROM MediaBlob b")
+    long sumSavedBytes();
+
+    @Query("SELECT COALESCE(SUM(b.size), 0) FROM MediaBlob b")
+    long sumStoredBytes();
+}
@@ -1,10 +1,61 @@
 package com.example.backend.repository;
 
 import com.example.backend.entity.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
     List<Message> findByRoomId(Long roomId);
-}
\ No newline at end of file
+
+    /**
+     * 채팅방의 최신 메시지부터 역순 조회 (keyset 페이지네이션의 첫 페이지)
+     * @param roomId 채팅방 ID
+     * @param pageable 페이지 크기
+     * @return id 내림차순 메시지 목록
+     */
+    @Query("SELECT m FROM Message m WHERE m.room.id = :roomId ORDER BY m.id DESC")
+    List<Message> findLatestByRoomId(@Param("roomId") Long roomId, Pageable pageable);
+
+    /**
+     * before 커서보다 이전 메시지를 역순 조회 (위로 스크롤)
+     * @param roomId 채팅방 ID
+     * @param before 이 메시지 ID 보다 작은 메시지만
+     * @param pageable 페이지 크기
+     * @return id 내림차순 메시지 목록
+     */
+    @Query("SELECT m FROM Message m WHERE m.room.id = :roomId AND m.id < :before ORDER BY m.id DESC")
+    List<Message> findByRoomIdBefore(@Param("roomId") Long roomId, @Param("before") Long before, Pageable pageable);
+
+    /**
+     * after 커서 이후의 새 메시지를 순서대로 조회
+     * @param roomId 채팅방 ID
+     * @param after 이 메시지 ID 보다 큰 메시지만
+     * @param pageable 페이지 크기
+     * @return id 오름차순 메시지 목록
+     */
+    @Query("SELECT m FROM Message m WHERE m.room.id = :roomId AND m.id > :after ORDER BY m.id ASC")
+    List<Message> findByRoomIdAfter(@Param("roomId") Long roomId, @Param("after") Long after, Pageable pageable);
+
+    /**
+     * 사용자가 참여한 모든 채팅방에서 after 커서 이후의 메시지 조회 (실시간 스트림 재연결 시 놓친 메시지 복구용)
+     * @param userId 사용자 ID
+     * @param after 마지막으로 받은 메시지 ID
+     * @param pageable 최대 개수
+     * @return id 오름차순 메시지 목록
+     */
+    @Query("SELECT m FROM Message m WHERE m.id > :after AND m.room.id IN " +
+            "(SELECT p.room.id FROM Participant p WHERE p.user.id = :userId) ORDER BY m.id ASC")
+    List<Message> findByParticipantUserIdAfter(@Param("userId") Long userId, @Param("after") Long after, Pageable pageable);
+
+    /**
+     * 채팅방의 가장 최근 메시지 ID (idx_messages_room_id_id 인덱스만으로 조회)
+     * @param roomId 채팅방 ID
+     * @return 최근 메시지 ID, 메시지가 없으면 null
+     */
+    @Query("SELECT MAX(m.id) FROM Message m WHERE m.room.id = :roomId")
+    Long findLatestIdByRoomId(@Param("roomId") Long roomId);
+}
@@ -2,6 +2,7 @@ package com.example.backend.repository;
 
 import com.example.backend.entity.Participant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -27,4 +28,54 @@ public interface ParticipantRepository extends JpaRepository<Participant, Long>
     @Query("SELECT p.user.id FROM Participant p WHERE p.room.id IN " +
             "(SELECT p2.room.id FROM Participant p2 WHERE p2.user.id = :userId) AND p.user.id != :userId")
     List<Long> findChattingPartnerIdsByUserId(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    /**
+     * 채팅방 목록 조회용: 내가 참여한 모든 채팅방의 '상대방' 참가자를 채팅방, 상대방 정보와 함께 한 번에 조회 (N+1 방지)
+     * 내 참가자 행의 안 읽은 메시지 수, 마지막으로 읽은 메시지 ID 도 함께 조회
+     * @param userId 현재 사용자 ID
+     * @return [상대방 Participant (room, user 가 이미 로딩됨), 내 unreadCount, 내 lastReadMessageId] 배열 목록
+     */
+    @Query("SELECT op, me.unreadCount, me.lastReadMessageId FROM Participant me JOIN me.room r JOIN r.participants op " +
+            "JOIN FETCH op.room JOIN FETCH op.user " +
+            "WHERE me.user.id = :userId AND op.user.id <> :userId ORDER BY me.id")
+    List<Object[]> findOpponentsWithRoomAndUser(@Param("userId") Long userId);
+
+    /**
+     * 특정 채팅방의 참가자 User ID 목록 (실시간 메시지 전달 대상)
+     * @param roomId 채팅방 ID
+     * @return 참가자 User ID 리스트
+     */
+    @Query("SELECT p.user.id FROM Participant p WHERE p.room.id = :roomId")
+    List<Long> findUserIdsByRoomId(@Param("roomId") Long roomId);
+
+    /**
+     * 메시지 전송 시 보낸 사람을 제외한 참가자들의 안 읽은 메시지 수를 원자적으로 +1
+     * @param roomId 채팅방 ID
+     * @param senderId 보낸 사람 User ID
+     * @return 갱신된 행 수
+     */
+    @Modifying
+    @Query("UPDATE Participant p SET p.unreadCount = p.unreadCount + 1 " +
+            "WHERE p.room.id = :roomId AND p.user.id <> :senderId")
+    int incrementUnreadCount(@Param("roomId") Long roomId, @Param("senderId") Long senderId);
+
+    /**
+     * 읽음 처리: 마지막으로 읽은 메시지 ID 를 앞으로만 옮기고, 그 이후 상대가 보낸 메시지 수로 안 읽은 수를 다시 계산
+     * 한 문장으로 처리하므로 동시에 들어온 incrementUnreadCount 와 섞여도 행 잠금 순서대로 반영됨
+     * @param roomId 채팅방 ID
+     * @param userId 읽은 사용자 ID
+     * @param messageId 읽은 마지막 메시지 ID
+     * @return 갱신된 행 수 (0 이면 참가자가 아니거나 이미 더 뒤까지 읽음)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Participant p SET p.lastReadMessageId = :messageId, " +
+            "p.unreadCount = (SELECT COUNT(m) FROM Message m " +
+            "   WHERE m.room.id = :roomId AND m.id > :messageId AND m.senderId <> :userId) " +
+            "WHERE p.room.id = :roomId AND p.user.id = :userId " +
+            "AND (p.lastReadMessageId IS NULL OR p.lastReadMessageId < :messageId)")
+    int markRead(@Param("roomId") Long roomId, @Param("userId") Long userId, @Param("messageId") Long messageId);
+
+    Optional<Participant> findByRoomIdAndUserId(Long roomId, Long userId);
+
+    boolean existsByRoomIdAndUserId(Long roomId, Long userId);
+}
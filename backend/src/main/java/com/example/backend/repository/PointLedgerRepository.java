@@ -0,0 +1,13 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.PointLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PointLedgerRepository extends JpaRepository<PointLedger, Long> {
+
+    // 사용자의 포인트 변동 합계 (차감은 음수)
+    @Query("SELECT COALESCE(SUM(l.amount), 0) FROM PointLedger l WHERE l.userId = :userId")
+    long sumAmountByUserId(@Param("userId") Long userId);
+}
@@ -2,9 +2,11 @@ package com.example.backend.repository;
 
 import com.example.backend.entity.Room;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
@@ -18,4 +20,17 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     @Query("SELECT r FROM Room r JOIN r.participants p1 JOIN r.participants p2 " +
             "WHERE p1.user.id = :userId1 AND p2.user.id = :userId2")
     Optional<Room> findExistingRoom(@Param("userId1") Long userId1, @Param("userId2") Long userId2);
+
+    /**
+     * 채팅방 엔티티(참가자/메시지 컬렉션 포함)를 읽지 않고 마지막 메시지만 UPDATE 한 번으로 갱신
+     * @param roomId 채팅방 ID
+     * @param lastMessage 마지막 메시지 미리보기 문구
+     * @param updatedAt 갱신 시각 (벌크 UPDATE 는 Auditing 이 적용되지 않으므로 직접 전달)
+     * @return 갱신된 행 수 (0 이면 채팅방 없음)
+     */
+    @Modifying
+    @Query("UPDATE Room r SET r.lastMessage = :lastMessage, r.updatedAt = :updatedAt WHERE r.id = :roomId")
+    int updateLastMessage(@Param("roomId") Long roomId,
+                          @Param("lastMessage") String lastMessage,
+                          @Param("updatedAt") LocalDateTime updatedAt);
 }
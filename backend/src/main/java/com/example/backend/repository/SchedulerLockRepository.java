@@ -0,0 +1,39 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    /**
+     * 잠금 행이 없으면 풀린 상태로 만듦 (이미 있으면 아무것도 하지 않음)
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO scheduler_locks (name, locked_until, locked_by) VALUES (:name, :now, '')",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("now") LocalDateTime now);
+
+    /**
+     * 잠금이 풀려 있을 때만 가져감 (조건부 UPDATE 라서 동시에 시도해도 한 노드만 성공)
+     * @return 가져갔으면 1
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :lockedUntil, l.lockedBy = :owner " +
+            "WHERE l.name = :name AND l.lockedUntil <= :now")
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now,
+                @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * 내가 가진 잠금만 풂
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -1,11 +1,15 @@
 package com.example.backend.repository;
 
 import com.example.backend.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -14,11 +18,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param latitude 현재 사용자 위도
      * @param longitude 현재 사용자 경도
      * @param distance 검색할 반경 (km)
-     * @param excludeUserIds 제외할 사용자 ID 목록 (본인, 이미 추천한 사람 등)
+     * @param userId 현재 사용자 ID (본인 제외용, 그 외 제외 대상은 UserExclusionCache 로 후처리)
      * @param currentUserGender 현재 사용자의 성별 (반대 성별을 찾기 위함)
      * @return 추천 대상 사용자 목록
      */
-    @Query(value = "SELECT * FROM users u WHERE u.id NOT IN :excludeUserIds AND u.gender <> :currentUserGender AND " + // [수정] 이성만 필터링
+    @Query(value = "SELECT * FROM users u WHERE u.id <> :userId AND u.gender <> :currentUserGender AND " + // [수정] 이성만 필터링
             "(6371 * acos(cos(radians(:latitude)) * cos(radians(u.latitude)) * " +
             "cos(radians(u.longitude) - radians(:longitude)) + sin(radians(:latitude)) * " +
             "sin(radians(u.latitude)))) < :distance " +
@@ -27,7 +31,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
             @Param("latitude") Double latitude,
             @Param("longitude") Double longitude,
             @Param("distance") double distance,
-            @Param("excludeUserIds") List<Long> excludeUserIds,
+            @Param("userId") Long userId,
             @Param("currentUserGender") String currentUserGender, // [추가] 현재 사용자 성별 파라미터
             @Param("limit") int limit);
 
@@ -47,4 +51,125 @@ public interface UserRepository extends JpaRepository<User, Long> {
             @Param("longitude") Double longitude,
             @Param("hobby") String hobby);
 
+    /**
+     * findUsersNearBy 의 bounding-box 버전
+     * 인덱스를 탈 수 있는 성별 동등 조건 + 위경도 범위 조건으로 먼저 행을 걸러낸 뒤, 남은 행에만 거리 계산을 적용
+     * (idx_users_gender_lat_lon 인덱스 사용)
+     * @param minLat ~ maxLon 반경 원을 포함하는 위경도 사각형 (GeoUtils.boundingBox)
+     * @param targetGender 추천 대상 성별 (현재 사용자의 반대 성별)
+     */
+    @Query(value = "SELECT * FROM users u " +
+            "WHERE u.gender = :targetGender " +
+            "AND u.latitude BETWEEN :minLat AND :maxLat " +
+            "AND u.longitude BETWEEN :minLon AND :maxLon " +
+            "AND u.id <> :userId AND " +
+            "(6371 * acos(cos(radians(:latitude)) * cos(radians(u.latitude)) * " +
+            "cos(radians(u.longitude) - radians(:longitude)) + sin(radians(:latitude)) * " +
+            "sin(radians(u.latitude)))) < :distance " +
+            "LIMIT :limit", nativeQuery = true)
+    List<User> findUsersNearByWithinBounds(
+            @Param("latitude") Double latitude,
+            @Param("longitude") Double longitude,
+            @Param("distance") double distance,
+            @Param("minLat") double minLat,
+            @Param("maxLat") double maxLat,
+            @Param("minLon") double minLon,
+            @Param("maxLon") double maxLon,
+            @Param("userId") Long userId,
+            @Param("targetGender") String targetGender,
+            @Param("limit") int limit);
+
+    /**
+     * findUsersByLocationAndHobbies 의 bounding-box 버전 (반경 50km 고정)
+     */
+    @Query(value = "SELECT * FROM users u " +
+            "WHERE u.gender = :targetGender " +
+            "AND u.latitude BETWEEN :minLat AND :maxLat " +
+            "AND u.longitude BETWEEN :minLon AND :maxLon " +
+            "AND u.id <> :userId " +
+            "AND (6371 * acos(" +
+            "   cos(radians(:latitude)) * cos(radians(u.latitude)) * " +
+            "   cos(radians(u.longitude) - radians(:longitude)) + " +
+            "   sin(radians(:latitude)) * sin(radians(u.latitude))" +
+            ")) < 50 " +
+            "AND u.hobbies LIKE CONCAT('%', :hobby, '%')",
+            nativeQuery = true)
+    List<User> findUsersByLocationAndHobbiesWithinBounds(
+            @Param("userId") Long userId,
+            @Param("latitude") Double latitude,
+            @Param("longitude") Double longitude,
+            @Param("minLat") double minLat,
+            @Param("maxLat") double maxLat,
+            @Param("minLon") double minLon,
+            @Param("maxLon") double maxLon,
+            @Param("targetGender") String targetGender,
+            @Param("hobby") String hobby);
+
+    /**
+     * 위치 인덱스(UserGeoIndex) 초기화용: 엔티티 전체 대신 ID, 좌표, 성별만 조회
+     * @return [id, latitude, longitude, gender] 배열 목록
+     */
+    @Query("SELECT u.id, u.latitude, u.longitude, u.gender FROM User u " +
+            "WHERE u.latitude IS NOT NULL AND u.longitude IS NOT NULL AND u.gender IS NOT NULL")
+    List<Object[]> findAllLocations();
+
+    /**
+     * 특정 상태의 사용자 ID 를 id 순으로 afterId 다음부터 조회 (배치 작업의 keyset 분할용)
+     * @param status 사용자 상태
+     * @param afterId 이전 묶음의 마지막 ID (처음엔 0)
+     * @param pageable 묶음 크기
+     * @return 사용자 ID 목록
+     */
+    @Query("SELECT u.id FROM User u WHERE u.status = :status AND u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsByStatusAfter(
+            @Param("status") User.Status status,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    Optional<User> findByAiTaskId(String aiTaskId);
+
+    /**
+     * 잔액이 충분할 때만 포인트 차감 (조건부 UPDATE 한 문장이라 읽고-검사하고-쓰는 사이에 다른 차감이 끼어들 수 없음)
+     * @return 차감된 행 수 (0 이면 사용자가 없거나 잔액 부족)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.point = u.point - :amount WHERE u.id = :userId AND u.point >= :amount")
+    int deductPoints(@Param("userId") Long userId, @Param("amount") int amount);
+
+    /**
+     * 같은 영상(내용 주소 방식 경로)으로 분석이 끝난 사용자 (분석 결과 재사용용)
+     */
+    Optional<User> findFirstByVideoUrlAndStatus(String videoUrl, User.Status status);
+
+    /**
+     * AI 서버가 발급한 작업 ID 를 기록 (아직 처리 중인 사용자만)
+     * @return 갱신된 행 수
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.aiTaskId = :taskId, u.aiRequestedAt = :requestedAt " +
+            "WHERE u.id = :userId AND u.status = :status")
+    int updateAiTask(@Param("userId") Long userId,
+                     @Param("taskId") String taskId,
+                     @Param("requestedAt") LocalDateTime requestedAt,
+                     @Param("status") User.Status status);
+
+    /**
+     * AI 분석 폴러(AiTaskPoller) 복구용: 처리 중인 사용자의 AI 작업 ID 와 요청 시각
+     * @param status 처리 중 상태
+     * @return [aiTaskId, aiRequestedAt] 배열 목록
+     */
+    @Query("SELECT u.aiTaskId, u.aiRequestedAt FROM User u WHERE u.status = :status AND u.aiTaskId IS NOT NULL")
+    List<Object[]> findPendingAiTasks(@Param("status") User.Status status);
+
+    /**
+     * 시간 초과된 AI 분석을 한 번에 실패 처리
+     * @param deadline 이 시각 이전에 요청되고 아직 처리 중인 사용자를 실패 처리
+     * @return 실패 처리된 사용자 수
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.status = :failed WHERE u.status = :processing AND u.aiRequestedAt < :deadline")
+    int failAiTasksRequestedBefore(
+            @Param("processing") User.Status processing,
+            @Param("failed") User.Status failed,
+            @Param("deadline") LocalDateTime deadline);
 }
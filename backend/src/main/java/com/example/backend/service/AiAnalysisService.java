@@ -0,0 +1,248 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.AiResponseDto;
+import com.example.backend.dto.AiTaskDto;
+import com.example.backend.entity.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 온보딩 영상의 AI 분석 요청과 결과 반영
+ * - 요청: 작업 큐(AnalysisJobWorker)에서 영상을 AI 서버에 보내고 task_id 만 기록 (결과를 기다리며 스레드/DB 커넥션을 잡지 않음)
+ * - 결과: AI 서버가 콜백(POST /ai/callback)으로 알려주면 짧은 트랜잭션으로 사용자 정보를 갱신
+ * - 콜백을 받지 못한 작업은 AiTaskPoller 가 모아서 일괄 조회(폴링)하고, 시간 초과된 작업은 실패 처리
+ */
+@Service
+@RequiredArgsConstructor
+public class AiAnalysisService {
+
+    private static final Logger log = LoggerFactory.getLogger(AiAnalysisService.class);
+    private static final String DEFAULT_INTRO = "새로운 인연을 원하는 시니어입니다.";
+
+    private final UserRepository userRepository;
+    private final FileStorageService fileStorageService;
+    private final AiRequestService aiRequestService;
+    private final UserGeoIndex userGeoIndex;
+    private final HobbyDictionary hobbyDictionary;
+    private final AiTaskPoller aiTaskPoller;
+    private final DailyRecommendationCache dailyRecommendationCache;
+    private final TransactionTemplate transactionTemplate;
+
+    // AI 서버가 분석 결과를 보낼 주소 (비어있으면 폴링으로만 결과 수신)
+    @Value("${ai.callback.url:}")
+    private String callbackUrl;
+
+    // 콜백 요청의 X-Callback-Token 헤더와 비교할 공유 비밀값 (비어있으면 콜백을 모두 거부하고 폴링으로만 결과 수신)
+    @Value("${ai.callback.token:}")
+    private String callbackToken;
+
+    // 기존 폴링 루프와 같은 최대 대기 시간 (5분)
+    @Value("${ai.result.timeout-ms:300000}")
+    private long timeoutMs;
+
+    // 같은 영상의 분석 결과를 재사용해서 AI 서버 요청을 건너뛴 횟수
+    private final AtomicLong reusedCount = new AtomicLong();
+
+    /**
+     * 영상 분석을 AI 서버에 요청하고 task_id 를 기록 (AnalysisJobWorker 가 작업 큐에서 꺼내 호출)
+     * 영상 업로드 동안만 워커 스레드를 사용하고, DB 는 task_id 기록 시에만 짧게 사용
+     * 실패하면 예외를 던지고, 재시도/실패 처리는 작업 큐가 담당
+     * @param userId 처리 중(PROCESSING) 상태의 사용자
+     * @param videoPath 저장된 영상 경로 (/media/...)
+     */
+    public void submitAnalysis(Long userId, String videoPath) {
+        File videoFile = fileStorageService.getFile(fileStorageService.getFileStorageLocation().resolve(videoPath.substring("/media/".length())).toString());
+
+        String taskId = aiRequestService.requestVideoProcessing(videoFile, callbackUrl());
+        LocalDateTime requestedAt = LocalDateTime.now();
+        Integer updated = transactionTemplate.execute(status ->
+                userRepository.updateAiTask(userId, taskId, requestedAt, User.Status.PROCESSING));
+        if (updated == null || updated == 0) {
+            log.warn(">>>>> 처리 중 상태가 아닌 사용자의 AI 분석 요청, User ID: {}, Task ID: {}", userId, taskId);
+            return;
+        }
+        aiTaskPoller.register(taskId, requestedAt); // 콜백이 오지 않으면 폴러가 조회
+        log.info(">>>>> AI 분석 요청 완료, User ID: {}, Task ID: {}", userId, taskId);
+    }
+
+    /**
+     * 같은 영상(내용 주소 방식으로 저장된 같은 파일)으로 분석이 끝난 사용자가 있으면 그 결과를 복사하고 완료 처리
+     * 영상 내용이 같으면 분석 결과도 같으므로 AI 서버 요청을 건너뜀
+     * @param user 저장 전의 처리 중(PROCESSING) 사용자
+     * @return 결과를 재사용했는지 여부 (false 면 작업 큐로 분석 요청 필요)
+     */
+    public boolean reuseCompletedAnalysis(User user) {
+        if (!FileStorageService.isContentAddressed(user.getVideoUrl())) {
+            return false;
+        }
+        User analyzed = userRepository.findFirstByVideoUrlAndStatus(user.getVideoUrl(), User.Status.COMPLETE).orElse(null);
+        if (analyzed == null) {
+            return false;
+        }
+        user.setName(analyzed.getName());
+        user.setAge(analyzed.getAge());
+        user.setGender(analyzed.getGender());
+        user.setHobbies(analyzed.getHobbies());
+        user.setIntroduction(analyzed.getIntroduction());
+        user.setStatus(User.Status.COMPLETE);
+        reusedCount.incrementAndGet();
+        log.info(">>>>> 같은 영상의 AI 분석 결과 재사용, 원본 User ID: {}", analyzed.getId());
+        return true;
+    }
+
+    public long reusedCount() {
+        return reusedCount.get();
+    }
+
+    /**
+     * 업로드 스트림을 그대로 AI 서버에 보내 분석 요청 (TeeUploadService)
+     * @return task_id
+     */
+    public String requestAnalysis(Resource video) {
+        return aiRequestService.requestVideoProcessing(video, callbackUrl());
+    }
+
+    /**
+     * 업로드와 함께 이미 분석을 요청한 사용자에게 task_id 를 기록 (온보딩 트랜잭션 안에서 호출)
+     * 사용자가 커밋되기 전에 도착한 콜백은 사용자를 찾지 못하고 버려지지만, 커밋 후 등록되는 폴러가 결과를 다시 조회함
+     */
+    public void attachSubmittedTask(User user, String taskId) {
+        LocalDateTime requestedAt = LocalDateTime.now();
+        user.setAiTaskId(taskId);
+        user.setAiRequestedAt(requestedAt);
+        TransactionUtils.afterCommit(() -> aiTaskPoller.register(taskId, requestedAt));
+        log.info(">>>>> 업로드와 함께 AI 분석 요청 완료, User ID: {}, Task ID: {}", user.getId(), taskId);
+    }
+
+    /**
+     * 콜백 인증 (토큰이 설정되지 않았으면 누구나 결과를 보낼 수 있으므로 모두 거부)
+     */
+    public boolean isValidCallbackToken(String token) {
+        if (callbackToken.isBlank() || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                callbackToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * AI 서버에 넘길 콜백 주소 (토큰이 없으면 콜백이 거부되므로 넘기지 않고 폴링으로만 결과 수신)
+     */
+    private String callbackUrl() {
+        return callbackToken.isBlank() ? null : callbackUrl;
+    }
+
+    /**
+     * 콜백 또는 폴링으로 받은 작업 상태를 반영
+     * 이미 완료/실패 처리된 사용자이거나 아직 처리 중인 작업이면 아무것도 하지 않음 (콜백과 폴링이 겹쳐도 한 번만 반영)
+     * @return 사용자 정보가 갱신되었는지 여부
+     */
+    public boolean handleTaskResult(AiTaskDto task) {
+        if (task == null || task.getTaskId() == null) {
+            return false;
+        }
+        if (task.isCompleted() && task.getResult() != null) {
+            aiTaskPoller.remove(task.getTaskId());
+            return complete(task.getTaskId(), task.getResult());
+        }
+        if (task.isFailed() || task.isNotFound() || task.isCompleted()) {
+            // not_found: AI 서버가 재시작되어 작업이 사라진 경우
+            // completed 인데 result 가 없는 경우: 다시 조회해도 결과가 생기지 않으므로 실패로 처리
+            log.warn(">>>>> AI 분석 실패, Task ID: {}, 상태: {}, 오류: {}", task.getTaskId(), task.getStatus(),
+                    task.isCompleted() ? "완료 응답에 분석 결과 없음" : task.getError());
+            aiTaskPoller.remove(task.getTaskId());
+            return fail(task.getTaskId());
+        }
+        return false;
+    }
+
+    /**
+     * 콜백을 받지 못한 작업 중 조회 시각이 된 작업들을 AiTaskPoller 로 일괄 조회해서 반영
+     */
+    @Scheduled(fixedDelayString = "${ai.poll.tick-ms:1000}")
+    public void pollPendingResults() {
+        for (AiTaskDto task : aiTaskPoller.pollDue()) {
+            handleTaskResult(task);
+        }
+    }
+
+    /**
+     * 시간 초과된 작업의 실패 처리
+     */
+    @Scheduled(fixedDelayString = "${ai.result.timeout-sweep-interval-ms:60000}")
+    public void failTimedOutTasks() {
+        LocalDateTime deadline = LocalDateTime.now().minus(Duration.ofMillis(timeoutMs));
+        Integer timedOut = transactionTemplate.execute(status -> userRepository.failAiTasksRequestedBefore(
+                User.Status.PROCESSING, User.Status.FAILED, deadline));
+        aiTaskPoller.removeRequestedBefore(deadline);
+        if (timedOut != null && timedOut > 0) {
+            log.warn(">>>>> AI 분석 시간 초과로 실패 처리된 사용자 수: {}", timedOut);
+        }
+    }
+
+    private boolean complete(String taskId, AiResponseDto aiResponse) {
+        User updated = transactionTemplate.execute(status -> {
+            User user = findProcessingUser(taskId);
+            if (user == null) {
+                return null;
+            }
+            user.setName(aiResponse.getName() == null ? "미상" : aiResponse.getName());
+            user.setAge(aiResponse.getAge() == null ? "미상" : aiResponse.getAge());
+            user.setHobbies(aiResponse.getHobbies());
+
+            if (aiResponse.getGender() != null && !aiResponse.getGender().isBlank()) {
+                try {
+                    user.setGender(User.Gender.valueOf(aiResponse.getGender().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    log.warn("AI 서버로부터 유효하지 않은 gender 값 수신: {}", aiResponse.getGender());
+                }
+            }
+
+            user.setIntroduction(aiResponse.getIntroduction() == null ? DEFAULT_INTRO : aiResponse.getIntroduction());
+            user.setStatus(User.Status.COMPLETE); // 상태를 '완료'로 변경
+            return userRepository.save(user);
+        });
+        if (updated == null) {
+            return false;
+        }
+        userGeoIndex.update(updated); // 성별이 정해졌으므로 위치 인덱스 갱신
+        hobbyDictionary.refresh(updated); // 추천 점수 계산용 취미 비트셋을 한 번만 계산
+        dailyRecommendationCache.invalidateRecommendedUser(updated.getId()); // 이 사용자가 들어있는 오늘의 추천 목록 갱신
+
+        log.info(">>>>> AI 분석 및 사용자 정보 업데이트 성공, User ID: {}", updated.getId());
+        return true;
+    }
+
+    private boolean fail(String taskId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            User user = findProcessingUser(taskId);
+            if (user == null) {
+                return false;
+            }
+            user.setStatus(User.Status.FAILED);
+            userRepository.save(user);
+            return true;
+        }));
+    }
+
+    private User findProcessingUser(String taskId) {
+        return userRepository.findByAiTaskId(taskId)
+                .filter(user -> user.getStatus() == User.Status.PROCESSING)
+                .orElse(null);
+    }
+}
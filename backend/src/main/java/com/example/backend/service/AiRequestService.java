@@ -1,25 +1,36 @@
 package com.example.backend.service;
 import com.example.backend.dto.AiResponseDto;
+import com.example.backend.dto.AiTaskDto;
 import com.example.backend.entity.User;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 import java.io.File;
+import java.util.List;
 import java.util.Map;
 
 @Service
+@RequiredArgsConstructor
 public class AiRequestService {
 
     // application.properties 파일 AI 서버 주소
     @Value("${ai.server.url}")
     private String aiServerUrl;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    // 공용 외부 HTTP 클라이언트 (HttpClientConfig: 커넥션 재사용, 타임아웃, 목적지별 동시 요청 제한)
+    private final RestTemplate restTemplate;
+
+    // 영상 업로드 전용 (요청 전체 시간 제한 없음, HttpClientConfig)
+    @Qualifier("aiUploadRestTemplate")
+    private final RestTemplate aiUploadRestTemplate;
 
     /**
      * processVideoDev: ai api 요청 횟수 제한에 따라 우선은 더미 데이터로 실행
@@ -63,19 +74,34 @@ public class AiRequestService {
     /**
      * 백그라운드 비동기 처리: 1. AI 서버에 분석을 '요청'하고 'task_id'를 받아오는 메서드
      * @param videoFile 분석 요청할 영상 파일
+     * @param callbackUrl 분석이 끝나면 AI 서버가 결과를 POST 할 주소 (비어있으면 폴링으로만 결과 수신)
+     * @return task_id
+     */
+    public String requestVideoProcessing(File videoFile, String callbackUrl) {
+        return requestVideoProcessing(new FileSystemResource(videoFile), callbackUrl);
+    }
+
+    /**
+     * 영상 본문을 Resource 로 받아 분석 요청 (업로드 스트림을 그대로 전달할 때 사용, TeeUploadService)
+     * 요청 본문은 버퍼링 없이 스트리밍되므로, 길이를 모르는 스트림은 chunked 로 전송됨
+     * @param video 분석 요청할 영상 (파일 이름이 있어야 AI 서버가 파일 파트로 인식)
+     * @param callbackUrl 분석이 끝나면 AI 서버가 결과를 POST 할 주소 (비어있으면 폴링으로만 결과 수신)
      * @return task_id
      */
-    public String requestVideoProcessing(File videoFile) {
+    public String requestVideoProcessing(Resource video, String callbackUrl) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.MULTIPART_FORM_DATA);
 
         MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-        body.add("video", new FileSystemResource(videoFile));
+        body.add("video", video);
+        if (callbackUrl != null && !callbackUrl.isBlank()) {
+            body.add("callback_url", callbackUrl);
+        }
 
         HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
 
         // AI 서버의 /process-video로 요청을 보내고, 응답에서 task_id를 추출
-        ResponseEntity<Map> response = restTemplate.postForEntity(aiServerUrl + "/process-video", requestEntity, Map.class);
+        ResponseEntity<Map> response = aiUploadRestTemplate.postForEntity(aiServerUrl + "/process-video", requestEntity, Map.class);
 
         if (response.getStatusCode() == HttpStatus.ACCEPTED && response.getBody() != null) {
             return (String) response.getBody().get("task_id");
@@ -84,21 +110,18 @@ public class AiRequestService {
     }
 
     /**
-     * 백그라운드 비동기 처리: 2. 'task_id'로 최종 분석 결과를 '조회'하는 메서드
-     * @param taskId 1번에서 AI 서버에 분석 요청 후 받아온 'task_id' 값
-     * @return 처리 완료 시 AiResponseDto
+     * 백그라운드 비동기 처리: 2. 여러 'task_id'의 작업 상태와 분석 결과를 한 번에 '조회'하는 메서드 (콜백을 받지 못한 작업의 폴링용)
+     * @param taskIds 1번에서 AI 서버에 분석 요청 후 받아온 'task_id' 값 목록
+     * @return task_id -> 작업 상태 (처리 중 / 완료 시 결과 / 실패 시 오류 / AI 서버에 없으면 not_found)
      */
-    public AiResponseDto getProcessingResult(String taskId) {
-        // AI 서버의 /tasks/{taskId}로 GET 요청
-        String url = aiServerUrl + "/tasks/" + taskId;
-        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-
-        if (response != null && "completed".equals(response.get("status"))) {
-            // ObjectMapper를 사용하여 Map을 DTO로 변환
-            ObjectMapper objectMapper = new ObjectMapper();
-            return objectMapper.convertValue(response.get("result"), AiResponseDto.class);
-        }
-        // 아직 처리 중이거나 실패한 경우 null 반환
-        return null;
+    public Map<String, AiTaskDto> getTasks(List<String> taskIds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(Map.of("task_ids", taskIds), headers);
+
+        // AI 서버의 /tasks/status로 POST 요청
+        ResponseEntity<Map<String, AiTaskDto>> response = restTemplate.exchange(aiServerUrl + "/tasks/status",
+                HttpMethod.POST, requestEntity, new ParameterizedTypeReference<>() {});
+        return response.getBody() == null ? Map.of() : response.getBody();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,242 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.AiTaskDto;
+import com.example.backend.entity.User;
+import com.example.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 콜백을 받지 못한 AI 분석 작업의 상태를 모아서 조회하는 폴러
+ * - 대기 중인 모든 task_id 를 다음 조회 시각 순 우선순위 큐 하나로 관리
+ * - 조회 시각이 된 작업들을 batch-size 개씩 묶어 AI 서버의 일괄 조회 API(POST /tasks/status)로 확인
+ * - 아직 처리 중인 작업은 작업별로 지수 백오프(+지터)로 다음 조회 시각을 미룸
+ * - 동시에 보내는 일괄 조회 요청 수는 max-in-flight 로 제한
+ * - 대기 작업은 users.ai_task_id 에 저장되어 있으므로 서버 재시작 시 DB 에서 다시 채움
+ */
+@Component
+@RequiredArgsConstructor
+public class AiTaskPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(AiTaskPoller.class);
+
+    private final AiRequestService aiRequestService;
+    private final UserRepository userRepository;
+
+    // 첫 조회까지의 대기 시간 (그 사이에 콜백이 오면 조회하지 않음)
+    @Value("${ai.poll.initial-delay-ms:30000}")
+    private long initialDelayMs;
+
+    // 백오프 시작 간격과 최대 간격
+    @Value("${ai.poll.min-interval-ms:5000}")
+    private long minIntervalMs;
+
+    @Value("${ai.poll.max-interval-ms:60000}")
+    private long maxIntervalMs;
+
+    // 다음 조회 시각에 더하거나 뺄 무작위 비율 (여러 작업의 조회 시각이 한꺼번에 몰리지 않도록)
+    @Value("${ai.poll.jitter:0.2}")
+    private double jitter;
+
+    @Value("${ai.poll.batch-size:100}")
+    private int batchSize;
+
+    @Value("${ai.poll.max-in-flight:4}")
+    private int maxInFlight;
+
+    // 다음 조회 시각 순 큐 (제거된 작업은 꺼낼 때 건너뜀)
+    private final PriorityQueue<PendingTask> queue = new PriorityQueue<>(Comparator.comparingLong(task -> task.nextPollAt));
+    // task_id -> 대기 중인 작업 (큐에 들어있거나 조회 중인 작업)
+    private final Map<String, PendingTask> tasks = new HashMap<>();
+
+    private ExecutorService requestExecutor;
+
+    private static final class PendingTask {
+        private final String taskId;
+        private final long requestedAt;
+        private long nextPollAt;
+        private int attempts = 0;
+
+        private PendingTask(String taskId, long requestedAt, long nextPollAt) {
+            this.taskId = taskId;
+            this.requestedAt = requestedAt;
+            this.nextPollAt = nextPollAt;
+        }
+    }
+
+    /**
+     * 일괄 조회 요청용 스레드 풀 (max-in-flight 개)
+     */
+    @PostConstruct
+    public void init() {
+        requestExecutor = Executors.newFixedThreadPool(Math.max(1, maxInFlight));
+    }
+
+    /**
+     * 서버 시작 시 처리 중(PROCESSING)으로 남아있는 작업을 다시 등록
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPending() {
+        List<Object[]> rows = userRepository.findPendingAiTasks(User.Status.PROCESSING);
+        for (Object[] row : rows) {
+            register((String) row[0], (LocalDateTime) row[1]);
+        }
+        log.info(">>>>> AI 분석 대기 작업 복구 완료, 작업 수: {}", rows.size());
+    }
+
+    /**
+     * AI 서버에 분석을 요청한 작업을 등록
+     * @param taskId AI 서버가 발급한 작업 ID
+     * @param requestedAt 분석 요청 시각
+     */
+    public synchronized void register(String taskId, LocalDateTime requestedAt) {
+        if (taskId == null || tasks.containsKey(taskId)) {
+            return;
+        }
+        long requestedAtMs = requestedAt == null ? System.currentTimeMillis()
+                : requestedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        PendingTask task = new PendingTask(taskId, requestedAtMs, requestedAtMs + withJitter(initialDelayMs));
+        tasks.put(taskId, task);
+        queue.add(task);
+    }
+
+    /**
+     * 결과를 반영한 작업(콜백 수신, 시간 초과 등)을 더 이상 조회하지 않도록 제거
+     */
+    public synchronized void remove(String taskId) {
+        tasks.remove(taskId);
+    }
+
+    /**
+     * deadline 이전에 요청된 작업을 모두 제거 (시간 초과로 실패 처리된 작업)
+     * @return 제거된 작업 수
+     */
+    public synchronized int removeRequestedBefore(LocalDateTime deadline) {
+        long deadlineMs = deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        int before = tasks.size();
+        tasks.values().removeIf(task -> task.requestedAt < deadlineMs);
+        return before - tasks.size();
+    }
+
+    public synchronized int size() {
+        return tasks.size();
+    }
+
+    /**
+     * 조회 시각이 된 작업들을 일괄 조회하고, 끝난(완료/실패/AI 서버에 없음) 작업의 상태를 돌려줌
+     * 끝난 작업은 폴러에서 제거되고, 아직 처리 중인 작업은 백오프 후 다시 조회됨
+     * @return 끝난 작업의 상태 목록
+     */
+    public List<AiTaskDto> pollDue() {
+        List<List<String>> batches = takeDueBatches();
+        if (batches.isEmpty()) {
+            return List.of();
+        }
+
+        List<CompletableFuture<List<AiTaskDto>>> futures = new ArrayList<>(batches.size());
+        for (List<String> batch : batches) {
+            futures.add(CompletableFuture.supplyAsync(() -> pollBatch(batch), requestExecutor));
+        }
+
+        List<AiTaskDto> finished = new ArrayList<>();
+        for (CompletableFuture<List<AiTaskDto>> future : futures) {
+            finished.addAll(future.join());
+        }
+        return finished;
+    }
+
+    /**
+     * 조회 시각이 된 작업을 최대 max-in-flight 개의 묶음으로 꺼냄
+     */
+    private synchronized List<List<String>> takeDueBatches() {
+        long now = System.currentTimeMillis();
+        int limit = Math.max(1, batchSize) * Math.max(1, maxInFlight);
+
+        List<String> due = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().nextPollAt <= now && due.size() < limit) {
+            PendingTask task = queue.poll();
+            if (tasks.get(task.taskId) != task) {
+                continue; // 이미 제거된 작업
+            }
+            due.add(task.taskId);
+        }
+
+        List<List<String>> batches = new ArrayList<>();
+        for (int from = 0; from < due.size(); from += batchSize) {
+            batches.add(due.subList(from, Math.min(from + batchSize, due.size())));
+        }
+        return batches;
+    }
+
+    private List<AiTaskDto> pollBatch(List<String> taskIds) {
+        Map<String, AiTaskDto> statuses;
+        try {
+            statuses = aiRequestService.getTasks(taskIds);
+        } catch (Exception e) {
+            log.warn(">>>>> AI 분석 상태 일괄 조회 실패, 작업 수: {}", taskIds.size(), e);
+            statuses = Map.of();
+        }
+
+        List<AiTaskDto> finished = new ArrayList<>();
+        synchronized (this) {
+            for (String taskId : taskIds) {
+                PendingTask task = tasks.get(taskId);
+                if (task == null) {
+                    continue; // 조회 중에 콜백 등으로 제거됨
+                }
+                AiTaskDto status = statuses.get(taskId);
+                if (status != null && (status.isCompleted() || status.isFailed() || status.isNotFound())) {
+                    status.setTaskId(taskId);
+                    tasks.remove(taskId);
+                    finished.add(status);
+                } else {
+                    // 아직 처리 중이거나 조회에 실패한 경우: 백오프 후 다시 조회
+                    task.attempts++;
+                    task.nextPollAt = System.currentTimeMillis() + withJitter(backoff(task.attempts));
+                    queue.add(task);
+                }
+            }
+        }
+        return finished;
+    }
+
+    private long backoff(int attempts) {
+        int shift = Math.min(attempts - 1, 20);
+        return Math.min(maxIntervalMs, minIntervalMs << shift);
+    }
+
+    private long withJitter(long delayMs) {
+        if (jitter <= 0) {
+            return delayMs;
+        }
+        double factor = 1.0 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Math.max(0, (long) (delayMs * factor));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (requestExecutor != null) {
+            requestExecutor.shutdownNow();
+        }
+    }
+}
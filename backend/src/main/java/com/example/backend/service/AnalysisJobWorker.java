@@ -0,0 +1,307 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.AnalysisJob;
+import com.example.backend.entity.User;
+import com.example.backend.repository.AnalysisJobRepository;
+import com.example.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AI 분석 작업 큐(analysis_jobs) 워커
+ * - 노드마다 하나씩 떠서 빈 슬롯(concurrency) 수만큼 작업을 lease 로 가져와 처리하므로, 노드 수만큼 병렬로 큐를 비울 수 있음
+ * - 처리 중인 작업은 전용 스레드의 heartbeat 로 lease 를 연장하고, 노드가 죽으면 lease 가 만료되어 다른 노드가 다시 가져감
+ * - 실패한 작업은 지수 백오프로 재시도하고, max-attempts 를 넘으면 사용자를 FAILED 로 처리
+ */
+@Component
+@RequiredArgsConstructor
+public class AnalysisJobWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisJobWorker.class);
+    private static final long THROUGHPUT_WINDOW_MS = 60_000;
+
+    private final AnalysisJobRepository analysisJobRepository;
+    private final UserRepository userRepository;
+    private final AiAnalysisService aiAnalysisService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${analysis.job.enabled:true}")
+    private boolean enabled;
+
+    // 이 노드에서 동시에 처리할 작업 수
+    @Value("${analysis.job.concurrency:4}")
+    private int concurrency;
+
+    @Value("${analysis.job.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${analysis.job.heartbeat-ms:20000}")
+    private long heartbeatMs;
+
+    // 큐 지표의 COUNT 조회 결과를 재사용하는 시간
+    @Value("${analysis.job.stats-cache-ms:5000}")
+    private long statsCacheMs;
+
+    @Value("${analysis.job.max-attempts:5}")
+    private int maxAttempts;
+
+    // 재시도 간격 (attempts 마다 2배)
+    @Value("${analysis.job.retry-delay-ms:10000}")
+    private long retryDelayMs;
+
+    // lease 소유자 구분용 노드 ID
+    private final String workerId = workerId();
+
+    // 이 노드가 처리 중인 작업 ID (heartbeat 대상)
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private ExecutorService executor;
+    // lease 연장 전용 스레드 (공용 스케줄러 스레드가 다른 작업으로 밀려도 lease 가 만료되지 않도록)
+    private ScheduledExecutorService heartbeatScheduler;
+
+    // 최근 큐 지표 (DB 지표 조회 시각과 함께)
+    private volatile Map<String, Object> queueStats = Map.of();
+    private volatile long queueStatsAt = 0;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    // 최근 1분 처리량 계산용 완료 시각
+    private final Deque<Long> recentCompletions = new ConcurrentLinkedDeque<>();
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(Math.max(1, concurrency));
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analysis-job-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * onboardUser 트랜잭션 안에서 호출: 사용자 저장과 함께 커밋되는 분석 작업을 큐에 추가
+     */
+    public AnalysisJob enqueue(Long userId, String videoPath) {
+        return analysisJobRepository.save(AnalysisJob.builder()
+                .userId(userId)
+                .videoPath(videoPath)
+                .status(AnalysisJob.Status.PENDING)
+                .nextRunAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * 빈 슬롯 수만큼 작업을 가져와 처리
+     */
+    @Scheduled(fixedDelayString = "${analysis.job.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        int free = concurrency - running.size();
+        if (free <= 0) {
+            return;
+        }
+        for (AnalysisJob job : claim(free)) {
+            running.add(job.getId());
+            executor.execute(() -> {
+                try {
+                    process(job);
+                } finally {
+                    running.remove(job.getId());
+                }
+            });
+        }
+    }
+
+    /**
+     * 처리 중인 작업의 lease 연장 (heartbeatScheduler 전용 스레드에서 실행)
+     */
+    public void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(running);
+        LocalDateTime leaseUntil = LocalDateTime.now().plus(Duration.ofMillis(leaseMs));
+        try {
+            Integer extended = transactionTemplate.execute(status ->
+                    analysisJobRepository.extendLeases(ids, workerId, leaseUntil, AnalysisJob.Status.RUNNING));
+            if (extended != null && extended < ids.size()) {
+                log.warn(">>>>> 분석 작업 lease 일부 유실, 처리 중: {}, 연장: {}", ids.size(), extended);
+            }
+        } catch (RuntimeException e) {
+            // 예외가 나가면 scheduleWithFixedDelay 가 이후 실행을 멈추므로 여기서 처리
+            log.warn(">>>>> 분석 작업 lease 연장 실패, 다음 주기에 다시 시도: {}", e.toString());
+        }
+    }
+
+    /**
+     * 큐 지표: 대기 작업 수, 가장 오래 기다린 작업의 대기 시간, 처리량
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("workerId", workerId);
+        stats.putAll(queueStats());
+        stats.put("runningOnThisNode", running.size());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        stats.put("retried", retried.get());
+        stats.put("completedLastMinute", completedLastMinute());
+        return stats;
+    }
+
+    /**
+     * DB 에서 세는 큐 지표 (지표를 자주 조회해도 COUNT 쿼리는 stats-cache-ms 에 한 번만 실행)
+     */
+    private Map<String, Object> queueStats() {
+        long now = System.currentTimeMillis();
+        if (now - queueStatsAt < statsCacheMs) {
+            return queueStats;
+        }
+        LocalDateTime oldest = analysisJobRepository.findOldestCreatedAt(AnalysisJob.Status.PENDING);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", analysisJobRepository.countByStatus(AnalysisJob.Status.PENDING));
+        stats.put("running", analysisJobRepository.countByStatus(AnalysisJob.Status.RUNNING));
+        stats.put("oldestPendingAgeMs", oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis());
+        queueStats = stats;
+        queueStatsAt = now;
+        return stats;
+    }
+
+    /**
+     * 가져갈 수 있는 작업을 잠그고 lease 를 기록 (짧은 트랜잭션)
+     * 재시도 횟수를 다 쓴 작업(lease 만료로 다시 나온 작업)은 실행하지 않고 실패 처리
+     */
+    private List<AnalysisJob> claim(int limit) {
+        List<AnalysisJob> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<AnalysisJob> jobs = new ArrayList<>();
+            for (AnalysisJob job : analysisJobRepository.findClaimableForUpdate(now, limit)) {
+                if (job.getAttempts() >= maxAttempts) {
+                    markFailed(job, "lease 만료 후 재시도 횟수 초과");
+                    continue;
+                }
+                job.setStatus(AnalysisJob.Status.RUNNING);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setLeaseOwner(workerId);
+                job.setLeaseUntil(now.plus(Duration.ofMillis(leaseMs)));
+                jobs.add(job);
+            }
+            return jobs;
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    private void process(AnalysisJob job) {
+        try {
+            aiAnalysisService.submitAnalysis(job.getUserId(), job.getVideoPath());
+            finish(job.getId(), null);
+            completed.incrementAndGet();
+            recordCompletion();
+        } catch (Exception e) {
+            log.error("[Job ID: " + job.getId() + "] AI 분석 요청 작업 실패, 시도 횟수: " + job.getAttempts(), e);
+            finish(job.getId(), e);
+        }
+    }
+
+    /**
+     * 작업 결과 기록 (lease 를 아직 내가 가지고 있을 때만)
+     * @param error 실패 시 예외, 성공 시 null
+     */
+    private void finish(Long jobId, Exception error) {
+        transactionTemplate.executeWithoutResult(status -> analysisJobRepository.findById(jobId)
+                .filter(job -> job.getStatus() == AnalysisJob.Status.RUNNING && workerId.equals(job.getLeaseOwner()))
+                .ifPresent(job -> {
+                    job.setLeaseOwner(null);
+                    job.setLeaseUntil(null);
+                    if (error == null) {
+                        job.setStatus(AnalysisJob.Status.DONE);
+                        job.setLastError(null);
+                    } else if (job.getAttempts() >= maxAttempts) {
+                        markFailed(job, error.toString());
+                    } else {
+                        long delay = retryDelayMs << Math.min(job.getAttempts() - 1, 10);
+                        job.setStatus(AnalysisJob.Status.PENDING);
+                        job.setNextRunAt(LocalDateTime.now().plus(Duration.ofMillis(delay)));
+                        job.setLastError(truncate(error.toString()));
+                        retried.incrementAndGet();
+                    }
+                }));
+    }
+
+    private void markFailed(AnalysisJob job, String error) {
+        job.setStatus(AnalysisJob.Status.FAILED);
+        job.setLeaseOwner(null);
+        job.setLeaseUntil(null);
+        job.setLastError(truncate(error));
+        userRepository.findById(job.getUserId())
+                .filter(user -> user.getStatus() == User.Status.PROCESSING)
+                .ifPresent(user -> user.setStatus(User.Status.FAILED));
+        failed.incrementAndGet();
+    }
+
+    private void recordCompletion() {
+        long now = System.currentTimeMillis();
+        recentCompletions.addLast(now);
+        trimCompletions(now);
+    }
+
+    private long completedLastMinute() {
+        trimCompletions(System.currentTimeMillis());
+        return recentCompletions.size();
+    }
+
+    private void trimCompletions(long now) {
+        Long head;
+        while ((head = recentCompletions.peekFirst()) != null && now - head > THROUGHPUT_WINDOW_MS) {
+            recentCompletions.pollFirst();
+        }
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+
+    private static String workerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 처리 중이던 작업은 lease 가 만료되면 다른 노드(또는 재시작한 이 노드)가 다시 가져감
+        heartbeatScheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+}
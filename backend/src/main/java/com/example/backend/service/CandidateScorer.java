@@ -0,0 +1,19 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.User;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 추천 후보 점수 계산 전략
+ * RecommendationRanker 가 후보마다 정확히 한 번씩 호출하며, 다른 점수 방식이 필요하면 이 인터페이스의 구현체를 교체
+ */
+public interface CandidateScorer {
+
+    /**
+     * 현재 사용자 기준의 점수 함수를 생성 (현재 사용자 쪽 값은 여기서 한 번만 계산)
+     * @param currentUser 현재 사용자
+     * @return 후보 사용자를 받아 추천 점수(높을수록 적합)를 돌려주는 함수
+     */
+    ToDoubleFunction<User> forUser(User currentUser);
+}
@@ -2,6 +2,8 @@ package com.example.backend.service;
 
 import com.example.backend.dto.ChatRoomDto;
 import com.example.backend.dto.MessageRequestDto;
+import com.example.backend.dto.MessageResponseDto;
+import com.example.backend.dto.ReadStateDto;
 import com.example.backend.entity.Message;
 import com.example.backend.entity.Participant;
 import com.example.backend.entity.Room;
@@ -10,12 +12,19 @@ import com.example.backend.repository.MessageRepository;
 import com.example.backend.repository.ParticipantRepository;
 import com.example.backend.repository.RoomRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,41 +33,121 @@ public class ChatService {
     private final MessageRepository messageRepository;
     private final ParticipantRepository participantRepository;
     private final UserRepository userRepository;
+    private final UserExclusionCache userExclusionCache;
+    private final HobbyDictionary hobbyDictionary;
+    private final ChatStreamService chatStreamService;
+    private final RecentMessageCache recentMessageCache;
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
 
     public Room saveRoom(Room room) {
         return roomRepository.save(room);
     }
 
-    public List<Message> getMessages(Long roomId) {
-        return messageRepository.findByRoomId(roomId);
+    /**
+     * 채팅방 메시지를 (room_id, id) keyset 방식으로 페이지 조회
+     * - before 지정: 해당 메시지 이전(과거) 메시지
+     * - after 지정: 해당 메시지 이후(새) 메시지
+     * - 둘 다 없으면: 가장 최근 메시지
+     * - 둘 다 지정하면: IllegalArgumentException
+     * @param roomId 채팅방 ID
+     * @param before 이전 페이지 커서 (메시지 ID)
+     * @param after 다음 페이지 커서 (메시지 ID)
+     * @param size 페이지 크기
+     * @return id 오름차순(오래된 순) 메시지 목록
+     */
+    // 최근 메시지 캐시에 hit 하면 DB 커넥션을 잡지 않도록 트랜잭션 없이 조회
+    public List<MessageResponseDto> getMessages(Long roomId, Long before, Long after, int size) {
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("before 와 after 는 함께 지정할 수 없습니다.");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // 1. 최근 메시지 캐시(링 버퍼) 범위 안이면 캐시에서 바로 반환
+        Optional<List<MessageResponseDto>> cached = after != null ? recentMessageCache.after(roomId, after, pageSize)
+                : before != null ? recentMessageCache.before(roomId, before, pageSize)
+                : recentMessageCache.latest(roomId, pageSize);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        // 2. 캐시 범위를 벗어나면 DB 페이지 조회
+        // 조회하는 사이 커밋된 메시지(append)가 조회 결과에 빠질 수 있으므로 조회 전 버전을 받아둠
+        long readVersion = recentMessageCache.version(roomId);
+        Pageable page = PageRequest.of(0, pageSize);
+        if (after != null) {
+            return toResponseDtos(messageRepository.findByRoomIdAfter(roomId, after, page));
+        }
+
+        List<Message> messages = new ArrayList<>(before != null
+                ? messageRepository.findByRoomIdBefore(roomId, before, page)
+                : messageRepository.findLatestByRoomId(roomId, page));
+        Collections.reverse(messages); // 최신순으로 조회했으므로 화면 표시 순서(오래된 순)로 뒤집음
+        List<MessageResponseDto> responseDtos = toResponseDtos(messages);
+
+        // 3. 최신 페이지를 읽었으면 캐시를 채움 (페이지보다 적게 나왔으면 채팅방 전체 메시지)
+        if (before == null) {
+            recentMessageCache.warm(roomId, responseDtos, messages.size() < pageSize, readVersion);
+        }
+        return responseDtos;
     }
 
     @Transactional
     public Message sendMessage(Long roomId, Long senderId, MessageRequestDto requestDto) {
-        // 1. 채팅방 정보 조회
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found"));
-
-        // 2. 메시지 객체 생성
+        // 1. 메시지 객체 생성 (채팅방은 엔티티를 읽지 않고 참조만 사용)
         Message newMessage = Message.builder()
-                .room(room)
+                .room(roomRepository.getReferenceById(roomId))
                 .senderId(senderId)
                 .messageContent(requestDto.getMessageContent())
                 .messageType(Message.MessageType.valueOf(requestDto.getMessageType()))
                 .build();
 
+        // 2. 채팅방의 마지막 메시지를 UPDATE 한 번으로 갱신 (채팅방이 없으면 0건)
+        if (roomRepository.updateLastMessage(roomId, newMessage.toLastMessage(), LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Room not found");
+        }
+
         // 3. 메시지 저장
         messageRepository.save(newMessage);
 
-        // 4. 채팅방의 마지막 메시지 업데이트
-        String lastMessage = Message.MessageType.valueOf(requestDto.getMessageType()) == Message.MessageType.TEXT ?
-                requestDto.getMessageContent() : "영상이 도착했습니다.";
-        room.setLastMessage(lastMessage);
-        roomRepository.save(room);
+        // 4. 보낸 사람을 제외한 참가자의 안 읽은 메시지 수 +1
+        participantRepository.incrementUnreadCount(roomId, senderId);
+
+        // 5. 채팅방 참가자들에게 실시간 전달 (커밋 후)
+        chatStreamService.publish(participantRepository.findUserIdsByRoomId(roomId), newMessage);
+
+        // 6. 최근 메시지 캐시에 write-through (커밋 후)
+        TransactionUtils.afterCommit(() -> recentMessageCache.append(roomId, new MessageResponseDto(newMessage)));
 
         return newMessage;
     }
 
+    /**
+     * 채팅방 읽음 처리
+     * @param roomId 채팅방
+     * @param userId 읽은 사용자
+     * @param messageId 마지막으로 읽은 메시지 ID (없으면 채팅방의 최신 메시지까지 읽은 것으로 처리)
+     * @return 읽음 처리 후 안 읽은 메시지 수, 마지막으로 읽은 메시지 ID
+     */
+    @Transactional
+    public ReadStateDto markRead(Long roomId, Long userId, Long messageId) {
+        if (!participantRepository.existsByRoomIdAndUserId(roomId, userId)) {
+            throw new RuntimeException("Participant not found");
+        }
+        // 읽음 위치는 앞으로만 움직이므로, 채팅방의 최신 메시지보다 큰 ID(다른 방 메시지, Long.MAX_VALUE 등)는
+        // 최신 메시지로 낮춤 (그대로 쓰면 이후 메시지가 모두 읽은 것으로 처리됨)
+        Long latestId = messageRepository.findLatestIdByRoomId(roomId);
+        Long readUpTo = messageId != null && latestId != null ? Math.min(messageId, latestId) : latestId;
+        if (readUpTo != null) {
+            // 이미 더 뒤까지 읽었으면 갱신하지 않음
+            participantRepository.markRead(roomId, userId, readUpTo);
+        }
+        Participant participant = participantRepository.findByRoomIdAndUserId(roomId, userId)
+                .orElseThrow(() -> new RuntimeException("Participant not found"));
+        return new ReadStateDto(roomId, participant);
+    }
+
     /**
      * 채팅방 목록을 조회하는 로직
      * @param currentUserId 사용자
@@ -66,22 +155,18 @@ public class ChatService {
      */
     @Transactional(readOnly = true)
     public List<ChatRoomDto> findMyChatRooms(Long currentUserId) {
-        // 1. 내가 참여하고 있는 모든 Participant 정보를 가져온다.
-        List<Participant> myParticipants = participantRepository.findByUserId(currentUserId);
-
-        List<ChatRoomDto> chatRoomDtos = new ArrayList<>();
-
-        // 2. 각 참여 정보에서 채팅방(Room)과 상대방(Opponent) 정보를 찾는다.
-        for (Participant myParticipant : myParticipants) {
-            Room room = myParticipant.getRoom();
-            // 채팅방에서 내가 아닌 다른 참가자를 찾는다.
-            Participant opponentParticipant = participantRepository.findByRoomIdAndUserIdNot(room.getId(), currentUserId)
-                    .orElse(null); // 상대방이 없는 경우는 없겠지만 예외 처리
-
-            if (opponentParticipant != null) {
-                User opponent = opponentParticipant.getUser();
-                chatRoomDtos.add(new ChatRoomDto(room, opponent));
-            }
+        // 1. 내가 참여한 모든 채팅방의 상대방을 채팅방, 상대방 정보와 함께 한 번의 쿼리로 가져온다.
+        List<Object[]> opponents = participantRepository.findOpponentsWithRoomAndUser(currentUserId);
+
+        // 2. 상대방 취미(JSON)는 공용 ObjectMapper 로 파싱해서 DTO 로 변환
+        List<ChatRoomDto> chatRoomDtos = new ArrayList<>(opponents.size());
+        for (Object[] row : opponents) {
+            Participant opponentParticipant = (Participant) row[0];
+            User opponent = opponentParticipant.getUser();
+            ChatRoomDto chatRoomDto = new ChatRoomDto(opponentParticipant.getRoom(), opponent, hobbyDictionary.parse(opponent.getHobbies()));
+            chatRoomDto.setUnreadCount((Integer) row[1]);
+            chatRoomDto.setLastReadMessageId((Long) row[2]);
+            chatRoomDtos.add(chatRoomDto);
         }
         return chatRoomDtos;
     }
@@ -111,9 +196,12 @@ public class ChatService {
 
         // 2. 참가자 정보 생성 및 저장 (2명)
         Participant currentUserParticipant = Participant.builder().user(currentUser).room(newRoom).build();
-        Participant targetUserParticipant = Participant.builder().user(targetUser).room(newRoom).build();
+        // 상대방은 첫 메시지(자기소개 영상)를 아직 읽지 않은 상태로 시작
+        Participant targetUserParticipant = Participant.builder().user(targetUser).room(newRoom).unreadCount(1).build();
         participantRepository.save(currentUserParticipant);
         participantRepository.save(targetUserParticipant);
+        // 대화 중인 상대는 추천에서 제외되므로 제외 집합 캐시도 갱신
+        userExclusionCache.recordChatStarted(currentUserId, targetUserId);
 
         // 3. 연락하는 사람의 자기소개 영상을 첫 메시지로 전송
         Message firstMessage = Message.builder()
@@ -135,6 +223,23 @@ public class ChatService {
         newRoom.addMessage(firstMessage);
 
         roomRepository.save(newRoom);
+
+        // 5. 두 사용자에게 첫 메시지 실시간 전달 (커밋 후)
+        // cascade 저장 시 영속화된 인스턴스는 채팅방의 메시지 목록에 들어있는 것을 사용
+        List<Message> roomMessages = newRoom.getMessages();
+        Message savedFirstMessage = roomMessages.get(roomMessages.size() - 1);
+        chatStreamService.publish(List.of(currentUserId, targetUserId), savedFirstMessage);
+
+        // 6. 새 채팅방은 메시지가 하나뿐이므로 캐시를 바로 채움 (커밋 후, 그 사이 다른 메시지가 오면 채우지 않음)
+        long readVersion = recentMessageCache.version(newRoom.getId());
+        TransactionUtils.afterCommit(() -> recentMessageCache.warm(newRoom.getId(),
+                List.of(new MessageResponseDto(savedFirstMessage)), true, readVersion));
         return newRoom;
     }
-}
\ No newline at end of file
+
+    private List<MessageResponseDto> toResponseDtos(List<Message> messages) {
+        return messages.stream()
+                .map(MessageResponseDto::new)
+                .collect(Collectors.toList());
+    }
+}
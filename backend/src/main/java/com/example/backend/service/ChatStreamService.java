@@ -0,0 +1,300 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ChatEventDto;
+import com.example.backend.entity.Message;
+import com.example.backend.repository.MessageRepository;
+import com.example.backend.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별 SSE 스트림으로 새 메시지를 실시간 전달하는 서비스
+ * - 연결은 서블릿 비동기 요청이라 대기 중에는 요청 스레드를 점유하지 않음 (유휴 연결 수만 개도 가능)
+ * - 주기적으로 heartbeat 를 보내 프록시/로드밸런서가 연결을 끊지 않도록 함 (공용 스케줄러가 아닌 전용 스레드)
+ *   쓰기는 연결마다 별도 스레드에서 하므로 멈춘 클라이언트 하나가 다른 사용자의 heartbeat 를 막지 않음
+ * - 재연결 시 Last-Event-ID(마지막 메시지 ID) 이후 메시지를 먼저 보내서 놓친 메시지 복구
+ *   너무 많으면(resume-max) reset 이벤트를 보내고 클라이언트가 채팅방 메시지를 다시 조회
+ *   복구하는 동안 도착한 새 메시지는 모아 두었다가 복구가 끝난 뒤 (이미 보낸 ID 는 빼고) 보내므로 순서가 섞이거나 중복되지 않음
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatStreamService.class);
+
+    private final MessageRepository messageRepository;
+
+    @Value("${chat.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    // 재연결 시 놓친 메시지를 한 번에 조회할 개수 (이 개수씩 페이지로 나눠 끝까지 복구)
+    @Value("${chat.stream.resume-limit:500}")
+    private int resumeLimit;
+
+    // 재연결 시 복구할 최대 메시지 수 (넘으면 reset 이벤트를 보내고 클라이언트가 GET /chats/{id}/messages 로 다시 조회)
+    @Value("${chat.stream.resume-max:5000}")
+    private int resumeMax;
+
+    @Value("${chat.stream.heartbeat-ms:25000}")
+    private long heartbeatMs;
+
+    // 사용자 ID -> 연결된 스트림 목록 (여러 기기 접속 가능)
+    private final Map<Long, Set<Connection>> emitters = new ConcurrentHashMap<>();
+
+    // heartbeat 전용 스레드 (느린 클라이언트에 쓰는 동안 다른 @Scheduled 작업을 막지 않도록)
+    private ScheduledExecutorService heartbeatScheduler;
+    // heartbeat 를 실제로 쓰는 스레드 (스케줄러 스레드는 연결마다 작업을 넘기기만 함)
+    // 쓰기가 블로킹되면 synchronized 안(SseEmitter.send)에서 멈추므로 가상 스레드가 아닌 플랫폼 스레드 사용
+    private ExecutorService heartbeatWriters;
+
+    /**
+     * 스트림 하나와 복구 중 상태
+     * buffered 가 null 이 아니면 아직 놓친 메시지를 복구하는 중이라 새 메시지를 여기에 모아 둠
+     */
+    private static final class Connection {
+        private final SseEmitter emitter;
+        // 가상 스레드에서 전송 중 블로킹되어도 캐리어 스레드가 묶이지 않도록 ReentrantLock 사용
+        private final ReentrantLock lock = new ReentrantLock();
+        private List<ChatEventDto> buffered;
+        // 이전 heartbeat 를 아직 쓰는 중이면 true (다음 주기에도 그대로면 멈춘 연결로 보고 제거)
+        private final AtomicBoolean heartbeatPending = new AtomicBoolean();
+
+        private Connection(SseEmitter emitter, boolean replaying) {
+            this.emitter = emitter;
+            this.buffered = replaying ? new ArrayList<>() : null;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatWriters = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "chat-stream-heartbeat-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatScheduler.scheduleAtFixedRate(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter connect(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // 복구 조회 전에 등록해서 조회와 등록 사이에 커밋된 메시지도 놓치지 않음 (복구가 끝날 때까지는 모아 두기만 함)
+        Connection connection = new Connection(emitter, lastEventId != null);
+        emitters.compute(userId, (k, userConnections) -> {
+            Set<Connection> target = userConnections == null ? ConcurrentHashMap.newKeySet() : userConnections;
+            target.add(connection);
+            return target;
+        });
+
+        Runnable remove = () -> removeConnection(userId, connection);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        if (lastEventId == null) {
+            // 연결 직후 응답 헤더를 내보내기 위한 첫 이벤트
+            sendComment(userId, connection, "connected");
+            return emitter;
+        }
+
+        // 1. 놓친 메시지 복구 (resume-limit 개씩 끝까지, resume-max 를 넘으면 나머지는 클라이언트가 다시 조회)
+        Set<Long> replayedIds = new HashSet<>();
+        long cursor = lastEventId;
+        while (true) {
+            if (replayedIds.size() >= resumeMax) {
+                if (!sendReset(userId, connection, cursor)) {
+                    return emitter;
+                }
+                break;
+            }
+            int pageSize = Math.min(resumeLimit, resumeMax - replayedIds.size());
+            List<Message> page = messageRepository.findByParticipantUserIdAfter(userId, cursor, PageRequest.of(0, pageSize));
+            for (Message message : page) {
+                if (!send(userId, connection, new ChatEventDto(message))) {
+                    return emitter;
+                }
+                replayedIds.add(message.getId());
+                cursor = message.getId();
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+
+        // 2. 복구 중 도착한 메시지 중 아직 보내지 않은 것만 보내고 실시간 전달로 전환
+        connection.lock.lock();
+        try {
+            List<ChatEventDto> buffered = connection.buffered;
+            connection.buffered = null;
+            for (ChatEventDto event : buffered) {
+                if (!replayedIds.contains(event.getMessage().getId()) && !send(userId, connection, event)) {
+                    break;
+                }
+            }
+        } finally {
+            connection.lock.unlock();
+        }
+        return emitter;
+    }
+
+    /**
+     * 채팅방 참가자들에게 새 메시지 전달 (트랜잭션 안이면 커밋 후 전달)
+     * @param participantUserIds 채팅방 참가자 User ID 목록
+     * @param message 새 메시지
+     */
+    public void publish(Collection<Long> participantUserIds, Message message) {
+        Runnable action = () -> {
+            // 커밋 이후에 만들어야 ID 가 확정된 메시지로 이벤트를 구성할 수 있음
+            ChatEventDto event = new ChatEventDto(message);
+            for (Long userId : participantUserIds) {
+                Set<Connection> userConnections = emitters.get(userId);
+                if (userConnections == null) {
+                    continue;
+                }
+                for (Connection connection : userConnections) {
+                    deliver(userId, connection, event);
+                }
+            }
+        };
+
+        TransactionUtils.afterCommit(action);
+    }
+
+    /**
+     * 모든 연결에 heartbeat 전송 (연결마다 쓰기 스레드에 넘기고 기다리지 않음)
+     * 한 주기 동안 heartbeat 를 다 쓰지 못한 연결은 클라이언트가 멈춘 것으로 보고 목록에서 제거
+     * (쓰던 스레드는 소켓 오류나 타임아웃으로 끝날 때 정리됨)
+     */
+    public void heartbeat() {
+        emitters.forEach((userId, userConnections) -> {
+            for (Connection connection : userConnections) {
+                if (!connection.heartbeatPending.compareAndSet(false, true)) {
+                    log.debug("SSE heartbeat 가 멈춰 연결을 제거합니다, User ID: {}", userId);
+                    removeConnection(userId, connection);
+                    continue;
+                }
+                heartbeatWriters.execute(() -> sendHeartbeat(userId, connection));
+            }
+        });
+    }
+
+    public int connectionCount() {
+        return emitters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        heartbeatWriters.shutdownNow();
+    }
+
+    /**
+     * 새 메시지 전달 (복구 중인 연결이면 모아 둠)
+     */
+    private void deliver(Long userId, Connection connection, ChatEventDto event) {
+        connection.lock.lock();
+        try {
+            if (connection.buffered != null) {
+                connection.buffered.add(event);
+                return;
+            }
+            send(userId, connection, event);
+        } finally {
+            connection.lock.unlock();
+        }
+    }
+
+    private boolean send(Long userId, Connection connection, ChatEventDto event) {
+        try {
+            connection.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.getMessage().getId()))
+                    .name("message")
+                    .data(event));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 이미 끊긴 경우
+            log.debug("SSE 전송 실패, User ID: {}", userId);
+            removeConnection(userId, connection);
+            return false;
+        }
+    }
+
+    /**
+     * 복구할 메시지가 너무 많을 때 클라이언트에 채팅방 메시지를 다시 조회하라고 알림
+     * @param lastReplayedId 마지막으로 복구해서 보낸 메시지 ID (이후 메시지는 스트림으로 보내지 않음)
+     */
+    private boolean sendReset(Long userId, Connection connection, long lastReplayedId) {
+        try {
+            connection.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(lastReplayedId))
+                    .name("reset")
+                    .data(Map.of("lastMessageId", lastReplayedId)));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE 전송 실패, User ID: {}", userId);
+            removeConnection(userId, connection);
+            return false;
+        }
+    }
+
+    /**
+     * 메시지를 보내는 중이거나 복구 중인 연결은 그 자체로 연결이 유지되므로 건너뜀
+     */
+    private void sendHeartbeat(Long userId, Connection connection) {
+        try {
+            if (!connection.lock.tryLock()) {
+                return;
+            }
+            try {
+                if (connection.buffered == null) {
+                    sendComment(userId, connection, "heartbeat");
+                }
+            } finally {
+                connection.lock.unlock();
+            }
+        } finally {
+            connection.heartbeatPending.set(false);
+        }
+    }
+
+    private void sendComment(Long userId, Connection connection, String comment) {
+        try {
+            connection.emitter.send(SseEmitter.event().comment(comment));
+        } catch (IOException | IllegalStateException e) {
+            removeConnection(userId, connection);
+        }
+    }
+
+    private void removeConnection(Long userId, Connection connection) {
+        emitters.computeIfPresent(userId, (k, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.UploadSessionDto;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 이어받기가 가능한 영상 분할 업로드
+ * - init 으로 업로드 세션을 만들고, 청크를 offset 과 함께 PUT 하면 FileChannel 위치 지정 쓰기로 최종 파일에 바로 기록
+ *   (요청 본문 스트림 -> 파일 채널로 옮기므로 영상 크기와 관계없이 메모리 사용량이 일정)
+ * - 받은 구간을 기록해 두므로 연결이 끊기면 status 의 nextOffset 부터 이어서 보내면 됨 (같은 청크를 다시 보내도 무방)
+ * - complete 시 모든 구간을 받았는지 확인하고 media 폴더로 옮긴 뒤 기존 온보딩 흐름에 넘김
+ *   온보딩이 실패하면 파일을 임시 위치로 되돌리고 세션을 남겨 두므로 클라이언트가 complete 를 다시 호출할 수 있음
+ */
+@Service
+@RequiredArgsConstructor
+public class ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private final FileStorageService fileStorageService;
+
+    @Value("${upload.chunk-size:5242880}")
+    private long chunkSize;
+
+    @Value("${upload.max-size-bytes:524288000}")
+    private long maxSizeBytes;
+
+    // 마지막 청크 이후 이 시간 동안 이어서 올리지 않으면 세션과 임시 파일 삭제
+    @Value("${upload.session-ttl-ms:86400000}")
+    private long sessionTtlMs;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    private static final class UploadSession {
+        private final String uploadId;
+        private final String fileName;
+        private final long totalSize;
+        private final Path partFile;
+        // 받은 구간: 시작 위치 -> 끝 위치(미포함), 겹치거나 붙은 구간은 합쳐서 보관
+        private final TreeMap<Long, Long> received = new TreeMap<>();
+        private long receivedBytes = 0;
+        private volatile long lastActivityAt = System.currentTimeMillis();
+        // complete 처리 중 (파일을 옮기고 온보딩하는 동안 청크 기록, 중복 complete, 만료 삭제를 막음)
+        private final AtomicBoolean completing = new AtomicBoolean(false);
+
+        private UploadSession(String uploadId, String fileName, long totalSize, Path partFile) {
+            this.uploadId = uploadId;
+            this.fileName = fileName;
+            this.totalSize = totalSize;
+            this.partFile = partFile;
+        }
+
+        private synchronized void addRange(long start, long end) {
+            Map.Entry<Long, Long> floor = received.floorEntry(start);
+            if (floor != null && floor.getValue() >= start) {
+                start = floor.getKey();
+                end = Math.max(end, floor.getValue());
+            }
+            Iterator<Map.Entry<Long, Long>> overlapping = received.tailMap(start, true).entrySet().iterator();
+            while (overlapping.hasNext()) {
+                Map.Entry<Long, Long> range = overlapping.next();
+                if (range.getKey() > end) {
+                    break;
+                }
+                end = Math.max(end, range.getValue());
+                receivedBytes -= range.getValue() - range.getKey();
+                overlapping.remove();
+            }
+            received.put(start, end);
+            receivedBytes += end - start;
+        }
+
+        private synchronized long nextOffset() {
+            Map.Entry<Long, Long> first = received.firstEntry();
+            if (first == null || first.getKey() > 0) {
+                return 0;
+            }
+            return first.getValue();
+        }
+
+        private synchronized long receivedBytes() {
+            return receivedBytes;
+        }
+
+        private synchronized boolean isComplete() {
+            return receivedBytes == totalSize;
+        }
+    }
+
+    /**
+     * 업로드 세션 생성
+     */
+    public UploadSessionDto init(String fileName, Long totalSize) {
+        if (totalSize == null || totalSize <= 0 || totalSize > maxSizeBytes) {
+            throw new RuntimeException("업로드 파일 크기가 올바르지 않습니다. (최대 " + maxSizeBytes + " bytes)");
+        }
+        String uploadId = UUID.randomUUID().toString();
+        Path partFile = fileStorageService.getTempLocation().resolve(uploadId + ".part");
+        try {
+            Files.createFile(partFile);
+        } catch (IOException e) {
+            throw new RuntimeException("업로드 임시 파일을 만들 수 없습니다.", e);
+        }
+        UploadSession session = new UploadSession(uploadId, FileStorageService.sanitizeFileName(fileName), totalSize, partFile);
+        sessions.put(uploadId, session);
+        return toDto(session);
+    }
+
+    /**
+     * 청크 하나를 offset 위치에 기록
+     * @param offset 파일 내 시작 위치
+     * @param contentLength 청크 크기 (알 수 없으면 -1, 이 경우 남은 크기까지 읽음)
+     * @param body 요청 본문 스트림
+     */
+    public UploadSessionDto writeChunk(String uploadId, long offset, long contentLength, InputStream body) {
+        UploadSession session = getSession(uploadId);
+        if (session.completing.get()) {
+            throw new RuntimeException("완료 처리 중인 업로드입니다.");
+        }
+        if (offset < 0 || offset >= session.totalSize) {
+            throw new RuntimeException("청크 위치가 파일 범위를 벗어났습니다. offset=" + offset);
+        }
+        long remaining = session.totalSize - offset;
+        if (contentLength > remaining) {
+            throw new RuntimeException("청크가 파일 크기를 넘습니다. offset=" + offset + ", length=" + contentLength);
+        }
+        long length = contentLength >= 0 ? contentLength : remaining;
+
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(session.partFile, StandardOpenOption.WRITE);
+             ReadableByteChannel source = Channels.newChannel(body)) {
+            // 요청 본문을 파일의 offset 위치로 바로 옮김 (청크 전체를 메모리에 올리지 않음)
+            while (written < length) {
+                long transferred = channel.transferFrom(source, offset + written, length - written);
+                if (transferred <= 0) {
+                    break; // 본문이 끝남 (연결 끊김 등)
+                }
+                written += transferred;
+            }
+        } catch (IOException e) {
+            // 도중에 끊겨도 이미 기록한 부분은 받은 것으로 처리하고 나머지는 이어서 받음
+            log.warn(">>>>> 청크 기록 중단, Upload ID: {}, offset: {}, 기록: {} bytes", uploadId, offset, written);
+        }
+
+        if (written > 0) {
+            session.addRange(offset, offset + written);
+        }
+        session.lastActivityAt = System.currentTimeMillis();
+        return toDto(session);
+    }
+
+    public UploadSessionDto status(String uploadId) {
+        return toDto(getSession(uploadId));
+    }
+
+    /**
+     * 모든 구간을 받았으면 media 폴더로 옮기고 온보딩한 뒤 세션 종료
+     * 온보딩이 실패하면 옮긴 파일을 임시 위치로 되돌리고 세션을 남겨 둠 (같은 uploadId 로 다시 complete 가능)
+     * @param onboarding 저장된 영상 경로(/media/...)로 온보딩 (트랜잭션이 커밋된 뒤 돌아와야 함)
+     * @return 온보딩 결과
+     */
+    public <T> T complete(String uploadId, Function<String, T> onboarding) {
+        UploadSession session = getSession(uploadId);
+        if (!session.isComplete()) {
+            throw new RuntimeException("아직 받지 못한 구간이 있습니다. nextOffset=" + session.nextOffset());
+        }
+        if (!session.completing.compareAndSet(false, true)) {
+            throw new RuntimeException("이미 완료 처리 중인 업로드입니다.");
+        }
+        String videoPath;
+        try {
+            videoPath = fileStorageService.storeTempFile(session.partFile, session.fileName);
+        } catch (IOException e) {
+            session.completing.set(false);
+            throw new RuntimeException("업로드 파일을 저장할 수 없습니다.", e);
+        }
+
+        try {
+            T result = onboarding.apply(videoPath);
+            sessions.remove(uploadId, session);
+            return result;
+        } catch (RuntimeException e) {
+            try {
+                fileStorageService.restoreTempFile(videoPath, session.partFile);
+                session.lastActivityAt = System.currentTimeMillis();
+                session.completing.set(false);
+                log.warn(">>>>> 업로드 완료 후 온보딩 실패, 다시 complete 할 수 있도록 세션 유지, Upload ID: {}", uploadId);
+            } catch (IOException restoreError) {
+                // 되돌릴 수 없으면 다시 complete 해도 파일이 없으므로 세션 종료 (처음부터 다시 업로드)
+                sessions.remove(uploadId, session);
+                e.addSuppressed(restoreError);
+                log.error(">>>>> 업로드 파일을 임시 위치로 되돌리지 못해 세션을 종료합니다, Upload ID: {}", uploadId, restoreError);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 오래 이어지지 않은 업로드 세션과 임시 파일 정리
+     */
+    @Scheduled(fixedDelayString = "${upload.sweep-interval-ms:600000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(session -> {
+            if (session.completing.get() || now - session.lastActivityAt <= sessionTtlMs) {
+                return false;
+            }
+            try {
+                Files.deleteIfExists(session.partFile);
+            } catch (IOException e) {
+                log.warn(">>>>> 업로드 임시 파일 삭제 실패: {}", session.partFile);
+            }
+            return true;
+        });
+    }
+
+    private UploadSession getSession(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null) {
+            throw new RuntimeException("업로드 세션을 찾을 수 없습니다: " + uploadId);
+        }
+        return session;
+    }
+
+    private UploadSessionDto toDto(UploadSession session) {
+        return new UploadSessionDto(session.uploadId, session.totalSize, session.receivedBytes(),
+                session.isComplete() ? session.totalSize : session.nextOffset(), chunkSize, session.isComplete());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.RecommendedUserDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 오늘의 추천 결과(완성된 DTO 목록) 캐시
+ * - 하루 추천 한도를 다 받은 사용자는 그날 같은 목록을 계속 보게 되므로, GET /recommendations 마다 DB 조회와 DTO 변환을 반복하지 않음
+ * - 날짜가 키에 들어있어서 자정이 지나면 자동으로 miss 가 되고, 지난 날짜 항목은 자정에 정리
+ * - 추가 추천 구매 등으로 목록이 바뀌거나, 목록에 든 사용자의 프로필이 바뀌면 무효화
+ * - max-entries 를 넘으면 가장 오래 안 쓴 사용자부터 제거(LRU)
+ */
+@Component
+public class DailyRecommendationCache {
+
+    @Value("${recommendation.daily-cache.max-entries:50000}")
+    private int maxEntries;
+
+    // 접근 순서(access-order) LinkedHashMap 으로 LRU 구현
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // 무효화할 때마다 증가: 무효화 전에 읽기 시작한 조회 결과가 무효화 뒤에 저장되지 않도록 함
+    private long generation = 0;
+
+    private record Entry(LocalDate date, List<RecommendedUserDto> recommendations) {
+    }
+
+    public synchronized Optional<List<RecommendedUserDto>> get(Long userId, LocalDate date) {
+        Entry entry = entries.get(userId);
+        if (entry == null || !entry.date().equals(date)) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(entry.recommendations());
+    }
+
+    /**
+     * 조회를 시작하기 전에 받아두고 put 에 넘김
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * @param readGeneration 조회 시작 시점의 generation (그 사이 무효화가 있었으면 저장하지 않음)
+     */
+    public synchronized void put(Long userId, LocalDate date, List<RecommendedUserDto> recommendations, long readGeneration) {
+        if (readGeneration != generation) {
+            return;
+        }
+        entries.put(userId, new Entry(date, List.copyOf(recommendations)));
+        var oldest = entries.values().iterator();
+        while (entries.size() > maxEntries && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * 사용자의 오늘 추천 목록이 바뀌었을 때 (추가 추천 구매, 추천 기록 저장)
+     */
+    public synchronized void invalidate(Long userId) {
+        generation++;
+        if (entries.remove(userId) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * 사용자의 프로필이 바뀌었을 때 그 사용자가 들어있는 추천 목록을 모두 제거
+     * 프로필 변경(AI 분석 완료 등)은 조회보다 훨씬 드물어서 역색인 없이 전체를 훑음
+     */
+    public synchronized void invalidateRecommendedUser(Long recommendedUserId) {
+        generation++;
+        entries.values().removeIf(entry -> {
+            for (RecommendedUserDto recommendation : entry.recommendations()) {
+                if (recommendedUserId.equals(recommendation.getUserId())) {
+                    invalidations.incrementAndGet();
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * 자정에 지난 날짜 항목 정리 (지난 항목은 조회되지 않지만 메모리를 차지하므로)
+     */
+    @Scheduled(cron = "${recommendation.daily-cache.rollover-cron:0 0 0 * * *}")
+    public synchronized void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        entries.values().removeIf(entry -> {
+            if (!entry.date().isBefore(today)) {
+                return false;
+            }
+            evictions.incrementAndGet();
+            return true;
+        });
+    }
+
+    public synchronized Map<String, Object> stats() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.get());
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("invalidations", invalidations.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.User;
+import com.example.backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 오늘의 추천을 새벽에 미리 계산해두는 배치 작업
+ * - 분석이 끝난(COMPLETE) 사용자를 id 순으로 묶음(chunk) 단위로 나누고, 묶음들을 병렬로 처리
+ * - 사용자마다 3명의 추천을 Recommendation 으로 미리 저장 → 아침의 GET /recommendations 는 조회만 수행
+ * - 배치가 놓친 사용자(이후 가입자, 실패 등)는 기존처럼 요청 시점에 계산됨
+ * - 스케줄러 스레드는 배치를 전용 스레드에 넘기고 바로 돌아가므로 다른 @Scheduled 작업을 막지 않음
+ * - 여러 노드가 떠 있어도 scheduler_locks 잠금을 가져간 한 노드만 실행
+ */
+@Component
+@RequiredArgsConstructor
+public class DailyRecommendationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyRecommendationJob.class);
+    private static final String LOCK_NAME = "daily-recommendation-precompute";
+
+    private final UserRepository userRepository;
+    private final RecommendationService recommendationService;
+    private final SchedulerLockService schedulerLockService;
+
+    @Value("${recommendation.precompute.enabled:true}")
+    private boolean enabled;
+
+    @Value("${recommendation.precompute.chunk-size:500}")
+    private int chunkSize;
+
+    // 동시에 처리할 묶음 수 (각 작업이 DB 커넥션을 하나씩 쓰므로 커넥션 풀 크기보다 작게)
+    @Value("${recommendation.precompute.parallelism:4}")
+    private int parallelism;
+
+    // 배치가 끝나지 않아도 잠금이 풀리는 시간 (배치 노드가 죽었을 때 다음 실행을 막지 않도록)
+    @Value("${recommendation.precompute.lock-at-most-ms:10800000}")
+    private long lockAtMostMs;
+
+    // 배치 본문을 실행하는 전용 스레드 (스케줄러 스레드를 잡고 있지 않기 위함)
+    private final ExecutorService batchRunner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "daily-recommendation-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * 배치 시작만 하고 바로 돌아감 (이 노드에서 아직 실행 중이거나 다른 노드가 잠금을 가졌으면 건너뜀)
+     */
+    @Scheduled(cron = "${recommendation.precompute.cron:0 0 4 * * *}")
+    public void precomputeDailyRecommendations() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (!schedulerLockService.tryLock(LOCK_NAME, Duration.ofMillis(lockAtMostMs))) {
+                log.info(">>>>> 다른 노드에서 추천 사전 계산 배치를 실행 중이라 건너뜁니다.");
+                running.set(false);
+                return;
+            }
+            batchRunner.execute(() -> {
+                try {
+                    runBatch();
+                } finally {
+                    schedulerLockService.unlock(LOCK_NAME);
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            log.error("추천 사전 계산 배치를 시작하지 못했습니다.", e);
+        }
+    }
+
+    private void runBatch() {
+        long startedAt = System.nanoTime();
+        AtomicInteger processedUsers = new AtomicInteger();
+        AtomicInteger createdRecommendations = new AtomicInteger();
+        AtomicInteger failedUsers = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            Long afterId = 0L;
+            while (true) {
+                // 1. COMPLETE 사용자 ID 를 keyset 방식으로 chunk 단위 분할
+                List<Long> chunk = userRepository.findIdsByStatusAfter(User.Status.COMPLETE, afterId, PageRequest.of(0, chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.get(chunk.size() - 1);
+
+                // 2. 각 chunk 를 병렬로 처리 (사용자 한 명 = 트랜잭션 하나)
+                futures.add(executor.submit(() -> {
+                    for (Long userId : chunk) {
+                        try {
+                            createdRecommendations.addAndGet(recommendationService.precomputeDailyRecommendations(userId));
+                        } catch (Exception e) {
+                            failedUsers.incrementAndGet();
+                            log.warn("추천 사전 계산 실패, User ID: {}", userId, e);
+                        }
+                        processedUsers.incrementAndGet();
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("추천 사전 계산 배치가 중단되었습니다.");
+        } catch (ExecutionException e) {
+            log.error("추천 사전 계산 배치 처리 중 오류 발생", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 3. 처리량(users/sec)과 소요 시간 기록
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        double throughput = elapsedSeconds > 0 ? processedUsers.get() / elapsedSeconds : 0;
+        log.info(">>>>> 추천 사전 계산 완료: 사용자 {}명 (실패 {}명), 신규 추천 {}건, 소요 {}초, 처리량 {} users/sec",
+                processedUsers.get(), failedUsers.get(), createdRecommendations.get(),
+                String.format("%.1f", elapsedSeconds), String.format("%.1f", throughput));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 중단된 배치의 잠금은 lock-at-most 가 지나면 풀림
+        batchRunner.shutdownNow();
+    }
+}
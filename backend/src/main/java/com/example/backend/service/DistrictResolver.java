@@ -0,0 +1,277 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 좌표 -> 지역명(시/도 + 시/군/구) 오프라인 변환
+ * - 행정구역 경계 GeoJSON(Polygon/MultiPolygon)을 서버 시작 시 읽어서 STR-tree(정적 R-tree)로 색인
+ * - 조회는 트리에서 경계 사각형에 좌표가 들어가는 구역만 골라 점-다각형 포함 검사 (외부 API 호출 없음)
+ * - 경계 파일이 없거나 어느 구역에도 속하지 않는 좌표는 null 을 돌려주고, LocationService 가 카카오 API 로 대신 조회
+ * - 기본값은 사용 안 함(카카오 API 로만 조회), 공식 경계 파일(SGIS, 행정안전부)을 geo.districts.path 로 지정하면 사용
+ */
+@Component
+@RequiredArgsConstructor
+public class DistrictResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(DistrictResolver.class);
+    // 트리 노드 하나가 가지는 자식 수
+    private static final int NODE_CAPACITY = 16;
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+
+    // 행정구역 경계 GeoJSON 위치 (classpath:..., file:...), 비어있으면 사용하지 않음
+    @Value("${geo.districts.path:}")
+    private String districtsPath;
+
+    // feature properties 에서 시/도, 시/군/구 이름을 꺼낼 키
+    @Value("${geo.districts.city-property:city}")
+    private String cityProperty;
+
+    @Value("${geo.districts.district-property:district}")
+    private String districtProperty;
+
+    // 구역 다각형 (MultiPolygon 은 다각형마다 하나씩)
+    private District[] districts = new District[0];
+    // STR-tree 노드: 레벨별 경계 사각형 배열 (마지막 레벨이 루트), 레벨 0 의 i 번째 사각형 = districts[i]
+    private List<double[]> levels = List.of();
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong resolved = new AtomicLong();
+
+    /**
+     * 구역 하나: 바깥 경계와 구멍(hole) 링, 경계 사각형
+     * 링은 [lng0, lat0, lng1, lat1, ...] 형식
+     */
+    private record District(String name, double[][] rings, double minX, double minY, double maxX, double maxY) {
+
+        private boolean contains(double x, double y) {
+            if (x < minX || x > maxX || y < minY || y > maxY) {
+                return false;
+            }
+            // 짝홀 규칙: 바깥 경계 안이고 구멍 밖이면 홀수 번 교차
+            boolean inside = false;
+            for (double[] ring : rings) {
+                if (crosses(ring, x, y)) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+
+        private static boolean crosses(double[] ring, double x, double y) {
+            boolean inside = false;
+            int n = ring.length / 2;
+            for (int i = 0, j = n - 1; i < n; j = i++) {
+                double xi = ring[2 * i], yi = ring[2 * i + 1];
+                double xj = ring[2 * j], yj = ring[2 * j + 1];
+                if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        if (districtsPath == null || districtsPath.isBlank()) {
+            log.info(">>>>> 행정구역 경계 파일이 지정되지 않아 카카오 API 로만 지역명을 조회합니다.");
+            return;
+        }
+        Resource resource = resourceLoader.getResource(districtsPath);
+        if (!resource.exists()) {
+            log.warn(">>>>> 행정구역 경계 파일을 찾을 수 없습니다: {}", districtsPath);
+            return;
+        }
+        List<District> loaded = new ArrayList<>();
+        try (InputStream in = resource.getInputStream()) {
+            JsonNode root = objectMapper.readTree(in);
+            for (JsonNode feature : root.path("features")) {
+                String name = nameOf(feature.path("properties"));
+                JsonNode geometry = feature.path("geometry");
+                if (name == null || geometry.isMissingNode()) {
+                    continue;
+                }
+                switch (geometry.path("type").asText()) {
+                    case "Polygon" -> loaded.add(toDistrict(name, geometry.path("coordinates")));
+                    case "MultiPolygon" -> {
+                        for (JsonNode polygon : geometry.path("coordinates")) {
+                            loaded.add(toDistrict(name, polygon));
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn(">>>>> 행정구역 경계 파일을 읽을 수 없습니다: {}", districtsPath, e);
+            return;
+        }
+        build(loaded);
+        log.info(">>>>> 행정구역 경계 색인 완료, 다각형 수: {}, 트리 높이: {}", districts.length, levels.size());
+    }
+
+    /**
+     * 좌표가 속한 구역 이름 ("서울특별시 동작구")
+     * @return 어느 구역에도 속하지 않거나 경계 파일이 없으면 null
+     */
+    public String resolve(double lat, double lng) {
+        lookups.incrementAndGet();
+        List<double[]> tree = levels;
+        District[] leaves = districts;
+        if (tree.isEmpty()) {
+            return null;
+        }
+        String name = search(tree, leaves, tree.size() - 1, 0, lng, lat);
+        if (name != null) {
+            resolved.incrementAndGet();
+        }
+        return name;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("polygons", districts.length);
+        stats.put("treeHeight", levels.size());
+        stats.put("lookups", lookups.get());
+        stats.put("resolved", resolved.get());
+        return stats;
+    }
+
+    /**
+     * level 의 index 번째 노드 아래에서 좌표를 포함하는 구역을 찾음
+     */
+    private static String search(List<double[]> tree, District[] leaves, int level, int index, double x, double y) {
+        if (level == 0) {
+            District district = leaves[index];
+            return district.contains(x, y) ? district.name() : null;
+        }
+        double[] children = tree.get(level - 1);
+        int childCount = children.length / 4;
+        int from = index * NODE_CAPACITY;
+        int to = Math.min(from + NODE_CAPACITY, childCount);
+        for (int child = from; child < to; child++) {
+            int b = child * 4;
+            if (x < children[b] || y < children[b + 1] || x > children[b + 2] || y > children[b + 3]) {
+                continue;
+            }
+            String name = search(tree, leaves, level - 1, child, x, y);
+            if (name != null) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * STR(Sort-Tile-Recursive) 방식으로 트리를 만듦
+     * 구역을 경도 기준으로 세로 띠(slice)로 나누고, 띠 안에서 위도 순으로 정렬해 NODE_CAPACITY 개씩 묶음
+     * 정렬된 순서 그대로 묶어서 올라가므로 자식 위치를 따로 저장할 필요가 없음
+     */
+    private void build(List<District> loaded) {
+        int count = loaded.size();
+        if (count == 0) {
+            return;
+        }
+        int leafNodes = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int sliceCount = (int) Math.ceil(Math.sqrt(leafNodes));
+        int sliceSize = sliceCount * NODE_CAPACITY;
+
+        List<District> sorted = new ArrayList<>(loaded);
+        sorted.sort(Comparator.comparingDouble(d -> (d.minX() + d.maxX()) / 2));
+        for (int from = 0; from < count; from += sliceSize) {
+            sorted.subList(from, Math.min(from + sliceSize, count))
+                    .sort(Comparator.comparingDouble(d -> (d.minY() + d.maxY()) / 2));
+        }
+        District[] leaves = sorted.toArray(new District[0]);
+
+        List<double[]> tree = new ArrayList<>();
+        double[] level = new double[count * 4];
+        for (int i = 0; i < count; i++) {
+            District d = leaves[i];
+            level[i * 4] = d.minX();
+            level[i * 4 + 1] = d.minY();
+            level[i * 4 + 2] = d.maxX();
+            level[i * 4 + 3] = d.maxY();
+        }
+        tree.add(level);
+        while (level.length / 4 > 1) {
+            level = parentLevel(level);
+            tree.add(level);
+        }
+        districts = leaves;
+        levels = List.copyOf(tree);
+    }
+
+    private static double[] parentLevel(double[] children) {
+        int childCount = children.length / 4;
+        int parentCount = (childCount + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        double[] parents = new double[parentCount * 4];
+        Arrays.fill(parents, Double.NaN);
+        for (int child = 0; child < childCount; child++) {
+            int p = (child / NODE_CAPACITY) * 4;
+            int c = child * 4;
+            parents[p] = Double.isNaN(parents[p]) ? children[c] : Math.min(parents[p], children[c]);
+            parents[p + 1] = Double.isNaN(parents[p + 1]) ? children[c + 1] : Math.min(parents[p + 1], children[c + 1]);
+            parents[p + 2] = Double.isNaN(parents[p + 2]) ? children[c + 2] : Math.max(parents[p + 2], children[c + 2]);
+            parents[p + 3] = Double.isNaN(parents[p + 3]) ? children[c + 3] : Math.max(parents[p + 3], children[c + 3]);
+        }
+        return parents;
+    }
+
+    private String nameOf(JsonNode properties) {
+        String city = properties.path(cityProperty).asText(null);
+        String district = properties.path(districtProperty).asText(null);
+        if (city == null || district == null) {
+            return null;
+        }
+        return city + " " + district;
+    }
+
+    /**
+     * GeoJSON Polygon 좌표([[[lng, lat], ...], 구멍...])를 District 로 변환
+     */
+    private static District toDistrict(String name, JsonNode polygon) {
+        double[][] rings = new double[polygon.size()][];
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int r = 0; r < rings.length; r++) {
+            JsonNode points = polygon.get(r);
+            double[] ring = new double[points.size() * 2];
+            for (int i = 0; i < points.size(); i++) {
+                double x = points.get(i).get(0).asDouble();
+                double y = points.get(i).get(1).asDouble();
+                ring[2 * i] = x;
+                ring[2 * i + 1] = y;
+                if (r == 0) {
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    maxX = Math.max(maxX, x);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+            rings[r] = ring;
+        }
+        return new District(name, rings, minX, minY, maxX, maxY);
+    }
+}
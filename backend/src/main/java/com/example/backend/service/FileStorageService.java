@@ -1,32 +1,85 @@
 package com.example.backend.service;
+import com.example.backend.repository.MediaBlobRepository;
+import com.example.backend.util.TransactionUtils;
 import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 @Getter
 @Service
 public class FileStorageService {
 
+    // 내용 주소 방식 파일 경로: /media/ab/cd/{sha256}.{확장자} (확장자는 그 내용을 처음 올린 파일 기준)
+    private static final Pattern CONTENT_ADDRESSED_PATH = Pattern.compile("^/media/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}(\\.[a-z0-9]{1,8})?$");
+    private static final Pattern EXTENSION = Pattern.compile("^[a-z0-9]{1,8}$");
+
     // 파일을 저장할 경로 (프로젝트 루트에 'media' 폴더 생성)
     private final Path fileStorageLocation = Paths.get("media").toAbsolutePath().normalize();
 
-    public FileStorageService() {
+    // 저장 중인 임시 파일 경로 (/media 로 공개되지 않도록 media 폴더 밖, 같은 디스크여야 이동이 원자적)
+    private final Path tempLocation = Paths.get("uploads").toAbsolutePath().normalize();
+
+    private final MediaBlobRepository mediaBlobRepository;
+
+    // true 면 파일 내용의 SHA-256 으로 저장해서 같은 영상은 한 번만 저장 (중복 업로드, 재시도)
+    @Value("${media.content-addressed.enabled:false}")
+    private boolean contentAddressed;
+
+    private final AtomicLong storedCount = new AtomicLong();
+    private final AtomicLong duplicateCount = new AtomicLong();
+    private final AtomicLong duplicateBytes = new AtomicLong();
+
+    public FileStorageService(MediaBlobRepository mediaBlobRepository) {
+        this.mediaBlobRepository = mediaBlobRepository;
         try {
             Files.createDirectories(this.fileStorageLocation);
+            Files.createDirectories(this.tempLocation);
         } catch (Exception ex) {
             throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
         }
     }
 
     public String storeFile(MultipartFile file) {
+        if (contentAddressed) {
+            // 업로드 스트림을 임시 파일에 쓰면서 동시에 해시 계산 (파일을 다시 읽지 않음)
+            Path tempFile = tempLocation.resolve(UUID.randomUUID() + ".tmp");
+            MessageDigest digest = newDigest();
+            try {
+                try (InputStream in = file.getInputStream();
+                     OutputStream out = new DigestOutputStream(Files.newOutputStream(tempFile), digest)) {
+                    in.transferTo(out);
+                }
+                return storeHashed(tempFile, digest, file.getOriginalFilename());
+            } catch (IOException ex) {
+                throw new RuntimeException("Could not store file " + file.getOriginalFilename() + ". Please try again!", ex);
+            } finally {
+                deleteQuietly(tempFile);
+            }
+        }
+
         // 파일 이름의 고유성을 위해 UUID 사용
-        String fileName = UUID.randomUUID() + "_" + file.getOriginalFilename();
+        String fileName = UUID.randomUUID() + "_" + sanitizeFileName(file.getOriginalFilename());
 
         try {
             // 파일 저장 위치를 확인
@@ -44,7 +97,175 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * 임시 폴더에 다 받은 파일(분할 업로드)을 media 폴더로 옮김
+     * 청크가 순서 없이 도착하므로 받는 동안 해시를 계산할 수 없어서, 내용 주소 방식이면 한 번 읽어서 해시 계산
+     * @return 저장된 영상 경로 (/media/...)
+     */
+    public String storeTempFile(Path tempFile, String originalFileName) throws IOException {
+        return storeTempFile(tempFile, originalFileName, null);
+    }
+
+    /**
+     * @param digest 파일을 쓰면서 이미 계산한 SHA-256 (없으면 null, 내용 주소 방식일 때 파일을 다시 읽어 계산)
+     */
+    public String storeTempFile(Path tempFile, String originalFileName, MessageDigest digest) throws IOException {
+        if (contentAddressed) {
+            if (digest == null) {
+                digest = newDigest();
+                try (InputStream in = new DigestInputStream(Files.newInputStream(tempFile), digest)) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+            String videoPath = storeHashed(tempFile, digest, originalFileName);
+            deleteQuietly(tempFile); // 이미 있던 내용이면 옮기지 않았으므로 임시 파일 삭제
+            return videoPath;
+        }
+        String storedName = UUID.randomUUID() + "_" + sanitizeFileName(originalFileName);
+        Files.move(tempFile, fileStorageLocation.resolve(storedName), StandardCopyOption.ATOMIC_MOVE);
+        return "/media/" + storedName;
+    }
+
+    /**
+     * storeTempFile 되돌리기 (옮긴 뒤 온보딩이 실패해서 같은 임시 파일로 다시 시도할 수 있게 할 때)
+     * 내용 주소 방식 파일은 다른 사용자와 공유될 수 있으므로 옮기지 않고 복사
+     * @param videoPath storeTempFile 이 돌려준 경로
+     * @param tempFile 원래 임시 파일 위치
+     */
+    public void restoreTempFile(String videoPath, Path tempFile) throws IOException {
+        if (Files.exists(tempFile)) {
+            return;
+        }
+        Path stored = fileStorageLocation.resolve(videoPath.substring("/media/".length())).normalize();
+        if (!stored.startsWith(fileStorageLocation)) {
+            throw new IOException("media 폴더 밖의 경로입니다: " + videoPath);
+        }
+        if (isContentAddressed(videoPath)) {
+            Files.copy(stored, tempFile);
+        } else {
+            Files.move(stored, tempFile, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
     public File getFile(String filePath) {
         return new File(filePath);
     }
-}
\ No newline at end of file
+
+    /**
+     * 내용 주소 방식으로 저장된 경로인지 여부 (같은 경로 = 같은 영상)
+     */
+    public static boolean isContentAddressed(String videoPath) {
+        return videoPath != null && CONTENT_ADDRESSED_PATH.matcher(videoPath).matches();
+    }
+
+    /**
+     * 중복 제거 지표: 저장/중복 건수와 아낀 디스크 용량
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("contentAddressed", contentAddressed);
+        stats.put("stored", storedCount.get());
+        stats.put("duplicates", duplicateCount.get());
+        stats.put("duplicateBytes", duplicateBytes.get());
+        stats.put("blobs", mediaBlobRepository.count());
+        stats.put("storedBytes", mediaBlobRepository.sumStoredBytes());
+        stats.put("savedBytes", mediaBlobRepository.sumSavedBytes());
+        return stats;
+    }
+
+    /**
+     * 클라이언트가 보낸 파일 이름에서 경로와 특수문자를 제거 (media 폴더 밖에 쓰는 것을 막기 위함)
+     */
+    public static String sanitizeFileName(String originalFileName) {
+        if (originalFileName == null || originalFileName.isBlank()) {
+            return "video";
+        }
+        String name = Paths.get(originalFileName.replace('\\', '/')).getFileName().toString();
+        name = name.replaceAll("[^\\p{L}\\p{N}._-]", "_");
+        return name.isBlank() || name.startsWith(".") ? "video" + name : name;
+    }
+
+    /**
+     * 내용 주소 방식으로 저장된 영상의 참조 수 증가 (온보딩 트랜잭션 안에서 호출해서 사용자 저장과 함께 커밋/롤백)
+     * 같은 내용이 다른 확장자로 동시에 저장된 경우 media_blobs 에 먼저 등록된 경로로 맞추고, 커밋 후 이번에 옮긴 사본을 삭제
+     * @param videoPath storeFile / storeTempFile 이 돌려준 경로
+     * @return 사용자에 저장할 영상 경로 (같은 내용이면 항상 같은 경로)
+     */
+    public String addReference(String videoPath) {
+        if (!isContentAddressed(videoPath)) {
+            return videoPath;
+        }
+        String relative = videoPath.substring("/media/".length());
+        String fileName = relative.substring(relative.lastIndexOf('/') + 1);
+        String hash = fileName.substring(0, 64);
+        Path stored = fileStorageLocation.resolve(relative);
+        long size;
+        try {
+            size = Files.size(stored);
+        } catch (IOException e) {
+            throw new RuntimeException("저장된 영상 파일을 찾을 수 없습니다: " + videoPath, e);
+        }
+        mediaBlobRepository.addReference(hash, videoPath, size, LocalDateTime.now());
+        String canonical = mediaBlobRepository.findPathBySha256(hash);
+        if (canonical == null || canonical.equals(videoPath)) {
+            return videoPath;
+        }
+        TransactionUtils.afterCommit(() -> deleteQuietly(stored));
+        return canonical;
+    }
+
+    /**
+     * 해시를 계산한 임시 파일을 media/ab/cd/{sha256}.{확장자} 로 옮김 (참조 수는 온보딩 트랜잭션에서 addReference 로 증가)
+     * 이미 같은 내용이 등록되어 있으면 확장자가 달라도 그 경로를 쓰고, 파일이 있으면 옮기지 않음 (임시 파일은 호출한 쪽에서 삭제)
+     */
+    private String storeHashed(Path tempFile, MessageDigest digest, String originalFileName) throws IOException {
+        String hash = HexFormat.of().formatHex(digest.digest());
+        String registered = mediaBlobRepository.findPathBySha256(hash);
+        String relative = registered != null && isContentAddressed(registered)
+                ? registered.substring("/media/".length())
+                : hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + extensionOf(originalFileName);
+        Path target = fileStorageLocation.resolve(relative);
+        long size = Files.size(tempFile);
+
+        if (Files.exists(target)) {
+            duplicateCount.incrementAndGet();
+            duplicateBytes.addAndGet(size);
+        } else {
+            Files.createDirectories(target.getParent());
+            // 같은 내용을 동시에 올려도 내용이 같으므로 덮어써도 무방
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            storedCount.incrementAndGet();
+        }
+
+        return "/media/" + relative;
+    }
+
+    private static String extensionOf(String originalFileName) {
+        String name = sanitizeFileName(originalFileName);
+        int dot = name.lastIndexOf('.');
+        if (dot < 0) {
+            return "";
+        }
+        String extension = name.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(extension).matches() ? "." + extension : "";
+    }
+
+    /**
+     * 내용 주소 방식 저장에 쓰는 해시 (SHA-256)
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // 임시 파일 삭제 실패는 무시 (다음 업로드에 영향 없음)
+        }
+    }
+}
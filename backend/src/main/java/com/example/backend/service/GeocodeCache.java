@@ -0,0 +1,257 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 좌표 -> 지역명(역지오코딩) 결과 캐시
+ * - 좌표를 grid-degrees 크기의 격자로 양자화해서 같은 칸의 좌표는 같은 결과를 사용 (카카오 조회도 칸 중심 좌표로)
+ * - 같은 칸을 동시에 조회하면 한 번만 카카오 API 를 호출하고 나머지는 그 결과를 기다림 (single-flight)
+ * - TTL 이 지나거나 max-entries 를 넘으면 가장 오래 안 쓴 칸부터 제거(LRU)
+ * - snapshot-path 를 지정하면 주기적으로 디스크에 저장하고 서버 시작 시 다시 읽어서 재시작 후에도 유지
+ */
+@Component
+@RequiredArgsConstructor
+public class GeocodeCache {
+
+    private static final Logger log = LoggerFactory.getLogger(GeocodeCache.class);
+
+    private final ObjectMapper objectMapper;
+
+    // 격자 한 칸 크기 (도 단위, 0.005도 = 위도 기준 약 550m)
+    @Value("${geocode.cache.grid-degrees:0.005}")
+    private double gridDegrees;
+
+    @Value("${geocode.cache.max-entries:10000}")
+    private int maxEntries;
+
+    // 지역명은 거의 바뀌지 않으므로 길게 유지 (기본 7일)
+    @Value("${geocode.cache.ttl-ms:604800000}")
+    private long ttlMs;
+
+    // 지역명이 없는 좌표(바다 등)는 짧게 유지
+    @Value("${geocode.cache.negative-ttl-ms:600000}")
+    private long negativeTtlMs;
+
+    // 비어있으면 디스크에 저장하지 않음
+    @Value("${geocode.cache.snapshot-path:}")
+    private String snapshotPath;
+
+    /**
+     * 카카오 API 조회 함수 (칸 중심 좌표로 호출됨)
+     */
+    @FunctionalInterface
+    public interface Loader {
+        String load(double lat, double lng);
+    }
+
+    // 디스크 저장용 항목 (만료 시각은 재시작 후에도 쓸 수 있도록 epoch ms)
+    public record Entry(long cell, String value, long expiresAt) {
+    }
+
+    // 접근 순서(access-order) LinkedHashMap 으로 LRU 구현
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    // 조회 중인 칸 -> 결과 (같은 칸을 동시에 조회하는 요청이 함께 기다림)
+    private final Map<Long, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong collapsed = new AtomicLong();
+    private final AtomicLong upstreamCalls = new AtomicLong();
+    private final AtomicLong upstreamErrors = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * 좌표의 지역명 조회 (캐시에 없으면 loader 로 조회해서 저장)
+     * @return 지역명 (없으면 null)
+     */
+    public String get(double lat, double lng, Loader loader) {
+        long latIndex = (long) Math.floor(lat / gridDegrees);
+        long lngIndex = (long) Math.floor(lng / gridDegrees);
+        long cell = (latIndex << 32) | (lngIndex & 0xffffffffL);
+
+        synchronized (this) {
+            Entry entry = entries.get(cell);
+            if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return entry.value();
+            }
+        }
+        misses.incrementAndGet();
+
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(cell, mine);
+        if (existing != null) {
+            collapsed.incrementAndGet();
+            return join(existing);
+        }
+
+        try {
+            // 캐시 확인과 등록 사이에 다른 요청이 조회를 끝냈을 수 있음
+            synchronized (this) {
+                Entry entry = entries.get(cell);
+                if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+                    mine.complete(entry.value());
+                    return entry.value();
+                }
+            }
+            upstreamCalls.incrementAndGet();
+            // 칸 중심 좌표로 조회해서 같은 칸은 항상 같은 결과가 되도록 함
+            String value = loader.load((latIndex + 0.5) * gridDegrees, (lngIndex + 0.5) * gridDegrees);
+            put(cell, value);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            // 실패는 캐시하지 않고, 기다리던 요청에도 같은 예외 전달
+            upstreamErrors.incrementAndGet();
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cell, mine);
+        }
+    }
+
+    public synchronized Map<String, Object> stats() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.get());
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("collapsed", collapsed.get());
+        stats.put("upstreamCalls", upstreamCalls.get());
+        stats.put("upstreamErrors", upstreamErrors.get());
+        stats.put("evictions", evictions.get());
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+
+    /**
+     * 서버 시작 시 디스크에 저장해 둔 캐시를 읽음 (만료된 항목은 버림)
+     */
+    @PostConstruct
+    public void loadSnapshot() {
+        Path path = snapshotFile();
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        try {
+            List<Entry> saved = objectMapper.readValue(path.toFile(), new TypeReference<List<Entry>>() {});
+            long now = System.currentTimeMillis();
+            synchronized (this) {
+                for (Entry entry : saved) {
+                    if (entry.expiresAt() > now) {
+                        entries.put(entry.cell(), entry);
+                    }
+                }
+                evictOverflow();
+            }
+            log.info(">>>>> 역지오코딩 캐시 복구 완료, 항목 수: {}", entries.size());
+        } catch (IOException e) {
+            log.warn(">>>>> 역지오코딩 캐시 파일을 읽을 수 없습니다: {}", path, e);
+        }
+    }
+
+    /**
+     * 만료 항목을 정리하고 디스크에 저장 (임시 파일에 쓴 뒤 교체해서 저장 중 종료되어도 이전 파일이 남음)
+     */
+    @Scheduled(fixedDelayString = "${geocode.cache.snapshot-interval-ms:300000}")
+    public void saveSnapshot() {
+        List<Entry> snapshot;
+        synchronized (this) {
+            evictExpired();
+            snapshot = new ArrayList<>(entries.values());
+        }
+        Path path = snapshotFile();
+        if (path == null) {
+            return;
+        }
+        try {
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn(">>>>> 역지오코딩 캐시 저장 실패: {}", path, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        saveSnapshot();
+    }
+
+    private synchronized void put(long cell, String value) {
+        long ttl = value == null ? negativeTtlMs : ttlMs;
+        entries.put(cell, new Entry(cell, value, System.currentTimeMillis() + ttl));
+        evictOverflow();
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> oldest = entries.values().iterator();
+        while (entries.size() > maxEntries && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> {
+            if (entry.expiresAt() > now) {
+                return false;
+            }
+            evictions.incrementAndGet();
+            return true;
+        });
+    }
+
+    private Path snapshotFile() {
+        if (snapshotPath == null || snapshotPath.isBlank()) {
+            return null;
+        }
+        Path path = Paths.get(snapshotPath).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(path.getParent());
+        } catch (IOException e) {
+            log.warn(">>>>> 역지오코딩 캐시 폴더를 만들 수 없습니다: {}", path.getParent());
+        }
+        return path;
+    }
+
+    private static String join(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
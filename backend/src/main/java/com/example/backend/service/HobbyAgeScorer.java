@@ -0,0 +1,64 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 기본 추천 점수: 겹치는 취미(가중치 60%) + 나이 차이(가중치 40%)
+ */
+@Component
+@RequiredArgsConstructor
+public class HobbyAgeScorer implements CandidateScorer {
+
+    private static final double HOBBY_WEIGHT = 0.6;
+    private static final double AGE_WEIGHT = 0.4;
+    private static final int DEFAULT_AGE = 70; // 나이 정보가 없거나 변환 실패 시 기본값 70세로 간주
+
+    private final HobbyDictionary hobbyDictionary;
+
+    @Override
+    public ToDoubleFunction<User> forUser(User currentUser) {
+        long[] currentUserHobbies = hobbyDictionary.bitsOf(currentUser);
+        int currentUserAge = parseAge(currentUser.getAge());
+
+        return candidateUser -> {
+            // 1. 취미 점수 계산 (가중치 60%)
+            int hobbyMatches = HobbyDictionary.countOverlap(currentUserHobbies, hobbyDictionary.bitsOf(candidateUser));
+            double hobbyScore = hobbyMatches * 20; // 겹치는 취미 1개당 20점
+
+            // 2. 나이 점수 계산 (가중치 40%)
+            // 나이 차이가 적을수록 높은 점수 (최대 100점)
+            int ageDifference = Math.abs(currentUserAge - parseAge(candidateUser.getAge()));
+            double ageScore = Math.max(0, 100 - (ageDifference * 5.0)); // 1살 차이마다 5점씩 감점
+
+            // 3. 가중치를 적용하여 최종 점수 계산
+            return (hobbyScore * HOBBY_WEIGHT) + (ageScore * AGE_WEIGHT);
+        };
+    }
+
+    /**
+     * DB에 저장된 나이 문자열(예: "70 후반", "60대")에서 숫자만 추출하는 헬퍼 메소드
+     * "세", "대" 등 모든 문자를 건너뛰고 숫자만 이어붙여 정수로 변환 (정규식/문자열 할당 없음)
+     */
+    static int parseAge(String ageStr) {
+        if (ageStr == null || ageStr.isBlank()) {
+            return DEFAULT_AGE;
+        }
+        long age = 0;
+        boolean hasDigit = false;
+        for (int i = 0; i < ageStr.length(); i++) {
+            char c = ageStr.charAt(i);
+            if (c >= '0' && c <= '9') {
+                age = age * 10 + (c - '0');
+                hasDigit = true;
+                if (age > Integer.MAX_VALUE) {
+                    return DEFAULT_AGE;
+                }
+            }
+        }
+        return hasDigit ? (int) age : DEFAULT_AGE;
+    }
+}
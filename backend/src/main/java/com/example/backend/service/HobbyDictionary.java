@@ -0,0 +1,128 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.User;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 취미 문자열을 정수 ID 로 interning 하고, 사용자별 취미를 long[] 비트셋으로 캐싱하는 사전
+ * - 비트셋은 AI 분석 결과가 반영될 때(refresh) 한 번만 계산
+ * - 겹치는 취미 수는 비트 AND 후 popcount 로 계산하므로 비교할 때 JSON 파싱이나 할당이 없음
+ */
+@Component
+@RequiredArgsConstructor
+public class HobbyDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(HobbyDictionary.class);
+    private static final long[] EMPTY = new long[0];
+
+    private final ObjectMapper objectMapper;
+
+    // 취미 문자열 -> 정수 ID
+    private final Map<String, Integer> hobbyIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    // 사용자 ID -> 비트셋 (계산에 사용한 hobbies 원문과 함께 저장해서 값이 바뀌면 다시 계산)
+    private final Map<Long, HobbyBits> userBits = new ConcurrentHashMap<>();
+
+    private record HobbyBits(String source, long[] bits) {
+    }
+
+    /**
+     * 사용자의 hobbies 가 새로 저장되었을 때 호출하여 비트셋을 미리 계산
+     */
+    public void refresh(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        userBits.put(user.getId(), new HobbyBits(user.getHobbies(), toBitset(user.getHobbies())));
+    }
+
+    /**
+     * 사용자의 취미 비트셋 조회 (캐시에 없거나 hobbies 가 바뀐 경우에만 계산)
+     */
+    public long[] bitsOf(User user) {
+        if (user.getId() == null) {
+            return toBitset(user.getHobbies());
+        }
+        HobbyBits cached = userBits.get(user.getId());
+        if (cached != null && Objects.equals(cached.source(), user.getHobbies())) {
+            return cached.bits();
+        }
+        long[] bits = toBitset(user.getHobbies());
+        userBits.put(user.getId(), new HobbyBits(user.getHobbies(), bits));
+        return bits;
+    }
+
+    /**
+     * 두 비트셋에서 겹치는 취미 개수
+     */
+    public static int countOverlap(long[] bits1, long[] bits2) {
+        int length = Math.min(bits1.length, bits2.length);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count += Long.bitCount(bits1[i] & bits2[i]);
+        }
+        return count;
+    }
+
+    public int intern(String hobby) {
+        return hobbyIds.computeIfAbsent(hobby.strip(), key -> nextId.getAndIncrement());
+    }
+
+    public int size() {
+        return hobbyIds.size();
+    }
+
+    /**
+     * hobbies 필드(JSON 문자열)를 공용 ObjectMapper 로 파싱
+     * @return 취미 목록, 비어있거나 파싱 실패 시 null
+     */
+    public List<String> parse(String hobbiesJson) {
+        // hobbies가 null이거나 비어있을 경우를 대비
+        if (hobbiesJson == null || hobbiesJson.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(hobbiesJson, new TypeReference<>() {});
+        } catch (Exception e) {
+            // JSON 파싱 실패 시 서비스 중단을 방지
+            log.warn("hobbies 파싱 실패: {}", hobbiesJson);
+            return null;
+        }
+    }
+
+    /**
+     * hobbies 필드(JSON 문자열)를 파싱하여 비트셋으로 변환
+     */
+    private long[] toBitset(String hobbiesJson) {
+        List<String> hobbies = parse(hobbiesJson);
+        if (hobbies == null) {
+            return EMPTY; // 취미가 없는 것으로 간주
+        }
+        long[] bits = EMPTY;
+        for (String hobby : hobbies) {
+            if (hobby == null || hobby.isBlank()) {
+                continue;
+            }
+            int id = intern(hobby);
+            int word = id >>> 6;
+            if (word >= bits.length) {
+                bits = Arrays.copyOf(bits, word + 1);
+            }
+            bits[word] |= 1L << id;
+        }
+        return bits;
+    }
+}
@@ -19,9 +19,31 @@ public class LocationService {
     @Value("${kakao.local.coord2address-url}")
     private String coord2AddressUrl;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    // 공용 외부 HTTP 클라이언트 (HttpClientConfig)
+    private final RestTemplate restTemplate;
+
+    // 가까운 좌표는 같은 결과를 재사용하고 동시 조회를 한 번으로 묶는 캐시
+    private final GeocodeCache geocodeCache;
+
+    // 행정구역 경계로 오프라인 변환 (경계 파일이 있을 때)
+    private final DistrictResolver districtResolver;
+
+    // 오프라인 변환에 실패한 좌표를 카카오 API 로 조회할지 여부
+    @Value("${geo.kakao-fallback.enabled:true}")
+    private boolean kakaoFallbackEnabled;
 
     public String getCityAndDistrict(double lat, double lng) {
+        String name = districtResolver.resolve(lat, lng);
+        if (name != null || !kakaoFallbackEnabled) {
+            return name;
+        }
+        return geocodeCache.get(lat, lng, this::fetchCityAndDistrict);
+    }
+
+    /**
+     * 카카오 coord2address API 호출 (캐시 miss 일 때만)
+     */
+    private String fetchCityAndDistrict(double lat, double lng) {
         String url = UriComponentsBuilder.fromHttpUrl(coord2AddressUrl)
                 .queryParam("x", lng) // x=경도, y=위도
                 .queryParam("y", lat)
@@ -0,0 +1,282 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.MessageResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방별 최근 메시지(tail)를 고정 크기 링 버퍼로 들고 있는 캐시
+ * - DB 에서 최신 페이지를 읽을 때 채워지고(warm), 이후 sendMessage 가 write-through 로 뒤에 붙임(append)
+ * - 캐시 범위를 벗어나는 조회(더 과거 메시지 등)는 empty 를 돌려주고, 호출한 쪽이 DB 페이지 조회로 넘어감
+ * - 전체 메모리 예산(max-bytes)을 넘거나 TTL 동안 접근이 없으면 가장 오래 안 쓴 채팅방부터 제거(LRU)
+ * - 채팅방별 버전: 캐시에 없는 채팅방에 append 가 와도 올려서, 그 전에 시작한 DB 조회 결과로 warm 하지 않도록 함
+ */
+@Component
+public class RecentMessageCache {
+
+    // 메시지 하나의 고정 오버헤드 추정치 (DTO 객체 + 필드 + 시간 객체)
+    private static final long MESSAGE_OVERHEAD_BYTES = 160;
+    // 채팅방 버전 슬롯 수 (채팅방 id 로 나눠 쓰므로 메모리가 고정, 다른 방과 겹치면 warm 을 한 번 건너뛸 뿐)
+    private static final int VERSION_SLOTS = 4096;
+
+    @Value("${chat.recent-cache.room-capacity:50}")
+    private int roomCapacity;
+
+    @Value("${chat.recent-cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    @Value("${chat.recent-cache.ttl-ms:600000}")
+    private long ttlMs;
+
+    // 접근 순서(access-order) LinkedHashMap 으로 LRU 구현
+    private final LinkedHashMap<Long, RoomTail> rooms = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes = 0;
+    private final long[] versions = new long[VERSION_SLOTS];
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * 가장 최근 메시지 size 개 (오래된 순)
+     */
+    public synchronized Optional<List<MessageResponseDto>> latest(Long roomId, int size) {
+        RoomTail tail = touch(roomId);
+        if (tail == null || (tail.size < size && !tail.wholeRoom)) {
+            return miss();
+        }
+        List<MessageResponseDto> messages = tail.toList();
+        return hit(messages.subList(Math.max(0, messages.size() - size), messages.size()));
+    }
+
+    /**
+     * before 커서 이전 메시지 size 개 (오래된 순)
+     * 캐시에 충분히 없고 캐시가 채팅방 전체도 아니면 miss
+     */
+    public synchronized Optional<List<MessageResponseDto>> before(Long roomId, Long before, int size) {
+        RoomTail tail = touch(roomId);
+        if (tail == null) {
+            return miss();
+        }
+        List<MessageResponseDto> older = new ArrayList<>();
+        for (MessageResponseDto message : tail.toList()) {
+            if (message.getId() < before) {
+                older.add(message);
+            }
+        }
+        if (older.size() < size && !tail.wholeRoom) {
+            return miss();
+        }
+        return hit(older.subList(Math.max(0, older.size() - size), older.size()));
+    }
+
+    /**
+     * after 커서 이후 메시지 size 개 (오래된 순)
+     * 커서가 캐시 범위보다 오래되었으면(그 사이 메시지가 캐시에 없을 수 있으므로) miss
+     */
+    public synchronized Optional<List<MessageResponseDto>> after(Long roomId, Long after, int size) {
+        RoomTail tail = touch(roomId);
+        if (tail == null || (!tail.wholeRoom && (tail.size == 0 || after < tail.oldestId()))) {
+            return miss();
+        }
+        List<MessageResponseDto> newer = new ArrayList<>();
+        for (MessageResponseDto message : tail.toList()) {
+            if (message.getId() > after) {
+                newer.add(message);
+                if (newer.size() >= size) {
+                    break;
+                }
+            }
+        }
+        return hit(newer);
+    }
+
+    /**
+     * DB 조회를 시작하기 전에 받아두고 warm 에 넘김
+     */
+    public synchronized long version(Long roomId) {
+        return versions[slot(roomId)];
+    }
+
+    /**
+     * DB 에서 읽은 최신 페이지로 캐시를 채움
+     * @param latestMessages 최신 메시지 목록 (오래된 순)
+     * @param wholeRoom 이 목록이 채팅방의 전체 메시지인지 여부
+     * @param readVersion 조회 시작 시점의 version (그 사이 append/무효화가 있었으면 조회 결과에 빠진 메시지가 있을 수 있어 채우지 않음)
+     */
+    public synchronized void warm(Long roomId, List<MessageResponseDto> latestMessages, boolean wholeRoom, long readVersion) {
+        if (readVersion != versions[slot(roomId)]) {
+            return;
+        }
+        RoomTail tail = new RoomTail(roomCapacity);
+        for (MessageResponseDto message : latestMessages) {
+            tail.append(message);
+        }
+        tail.wholeRoom = wholeRoom && latestMessages.size() <= roomCapacity;
+        put(roomId, tail);
+    }
+
+    /**
+     * 새 메시지를 write-through 로 추가 (캐시에 있는 채팅방만, 버전은 캐시에 없어도 올림)
+     */
+    public synchronized void append(Long roomId, MessageResponseDto message) {
+        versions[slot(roomId)]++;
+        RoomTail tail = rooms.get(roomId);
+        if (tail == null) {
+            return;
+        }
+        if (tail.size > 0 && message.getId() <= tail.newestId()) {
+            // 동시 전송으로 순서가 뒤바뀐 경우: 다음 조회 때 DB 에서 다시 채움
+            remove(roomId);
+            return;
+        }
+        totalBytes -= tail.bytes;
+        tail.append(message);
+        tail.lastAccessAt = System.currentTimeMillis();
+        totalBytes += tail.bytes;
+        evictOverBudget();
+    }
+
+    public synchronized void invalidate(Long roomId) {
+        versions[slot(roomId)]++;
+        remove(roomId);
+    }
+
+    /**
+     * TTL 이 지난 채팅방 정리
+     */
+    @Scheduled(fixedDelayString = "${chat.recent-cache.sweep-interval-ms:60000}")
+    public synchronized void evictExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<Long, RoomTail>> iterator = rooms.entrySet().iterator();
+        while (iterator.hasNext()) {
+            RoomTail tail = iterator.next().getValue();
+            if (now - tail.lastAccessAt > ttlMs) {
+                totalBytes -= tail.bytes;
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> stats() {
+        return Map.of(
+                "rooms", rooms.size(),
+                "estimatedBytes", totalBytes,
+                "hits", hits.get(),
+                "misses", misses.get(),
+                "evictions", evictions.get());
+    }
+
+    private static int slot(Long roomId) {
+        return (int) Math.floorMod(roomId, (long) VERSION_SLOTS);
+    }
+
+    private RoomTail touch(Long roomId) {
+        RoomTail tail = rooms.get(roomId);
+        if (tail == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (now - tail.lastAccessAt > ttlMs) {
+            remove(roomId);
+            evictions.incrementAndGet();
+            return null;
+        }
+        tail.lastAccessAt = now;
+        return tail;
+    }
+
+    private Optional<List<MessageResponseDto>> hit(List<MessageResponseDto> messages) {
+        hits.incrementAndGet();
+        return Optional.of(new ArrayList<>(messages));
+    }
+
+    private Optional<List<MessageResponseDto>> miss() {
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    private void put(Long roomId, RoomTail tail) {
+        remove(roomId);
+        rooms.put(roomId, tail);
+        totalBytes += tail.bytes;
+        evictOverBudget();
+    }
+
+    private void remove(Long roomId) {
+        RoomTail removed = rooms.remove(roomId);
+        if (removed != null) {
+            totalBytes -= removed.bytes;
+        }
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<Long, RoomTail>> iterator = rooms.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            totalBytes -= iterator.next().getValue().bytes;
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static long estimateBytes(MessageResponseDto message) {
+        String content = message.getMessageContent();
+        return MESSAGE_OVERHEAD_BYTES + (content == null ? 0 : 2L * content.length());
+    }
+
+    /**
+     * 채팅방 하나의 최근 메시지 링 버퍼
+     */
+    private static final class RoomTail {
+        private final MessageResponseDto[] slots;
+        private int start = 0; // 가장 오래된 메시지 위치
+        private int size = 0;
+        private long bytes = 0;
+        private boolean wholeRoom = false; // 채팅방의 모든 메시지가 버퍼 안에 있는지
+        private long lastAccessAt = System.currentTimeMillis();
+
+        private RoomTail(int capacity) {
+            this.slots = new MessageResponseDto[Math.max(1, capacity)];
+        }
+
+        private void append(MessageResponseDto message) {
+            if (size == slots.length) {
+                // 가득 차면 가장 오래된 메시지를 덮어씀 → 더 이상 채팅방 전체가 아님
+                bytes -= estimateBytes(slots[start]);
+                slots[start] = message;
+                start = (start + 1) % slots.length;
+                wholeRoom = false;
+            } else {
+                slots[(start + size) % slots.length] = message;
+                size++;
+            }
+            bytes += estimateBytes(message);
+        }
+
+        private long oldestId() {
+            return slots[start].getId();
+        }
+
+        private long newestId() {
+            return slots[(start + size - 1) % slots.length].getId();
+        }
+
+        private List<MessageResponseDto> toList() {
+            List<MessageResponseDto> messages = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                messages.add(slots[(start + i) % slots.length]);
+            }
+            return messages;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * 추천 후보군에서 점수 상위 K명을 고르는 컴포넌트
+ * - 후보마다 점수를 정확히 한 번 계산해서 double[] 에 저장
+ * - 전체 정렬 대신 크기 K 의 힙으로 선택: O(n log K)
+ * - 후보가 많으면 ForkJoin 공용 풀에서 병렬로 점수 계산
+ */
+@Component
+@RequiredArgsConstructor
+public class RecommendationRanker {
+
+    private final CandidateScorer candidateScorer;
+
+    // 이 인원 이상일 때만 병렬로 점수 계산 (적은 인원은 스레드 전환 비용이 더 큼)
+    @Value("${recommendation.ranking.parallel-threshold:2048}")
+    private int parallelThreshold;
+
+    /**
+     * 후보군 중에서 '나'와 가장 잘 맞는 순서로 최대 k명을 선택
+     * 점수가 같으면 후보군에서 앞에 있던 사용자가 우선 (기존 안정 정렬과 동일)
+     * @param currentUser 현재 사용자
+     * @param candidates 추천 후보군
+     * @param k 선택할 인원 수
+     * @return 점수가 높은 순(내림차순)으로 정렬된 최대 k명
+     */
+    public List<User> topK(User currentUser, List<User> candidates, int k) {
+        int n = candidates.size();
+        if (n == 0 || k <= 0) {
+            return Collections.emptyList();
+        }
+
+        // 1. 후보마다 점수를 한 번씩만 계산
+        ToDoubleFunction<User> scorer = candidateScorer.forUser(currentUser);
+        double[] scores = new double[n];
+        if (n >= parallelThreshold) {
+            IntStream.range(0, n).parallel().forEach(i -> scores[i] = scorer.applyAsDouble(candidates.get(i)));
+        } else {
+            for (int i = 0; i < n; i++) {
+                scores[i] = scorer.applyAsDouble(candidates.get(i));
+            }
+        }
+
+        // 2. 크기 k 의 힙(루트가 가장 낮은 순위)으로 상위 k명의 인덱스 선택
+        int[] heap = new int[Math.min(k, n)];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            if (size < heap.length) {
+                heap[size] = i;
+                siftUp(heap, size++, scores);
+            } else if (ranksHigher(i, heap[0], scores)) {
+                heap[0] = i;
+                siftDown(heap, size, scores);
+            }
+        }
+
+        // 3. 힙에서 가장 낮은 순위부터 꺼내 뒤에서부터 채움 → 내림차순 결과
+        User[] result = new User[size];
+        while (size > 0) {
+            result[size - 1] = candidates.get(heap[0]);
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores);
+        }
+        return Arrays.asList(result);
+    }
+
+    private static boolean ranksHigher(int a, int b, double[] scores) {
+        int compare = Double.compare(scores[a], scores[b]);
+        return compare > 0 || (compare == 0 && a < b);
+    }
+
+    private static void siftUp(int[] heap, int index, double[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksHigher(heap[parent], heap[index], scores)) {
+                return;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, double[] scores) {
+        int index = 0;
+        while (true) {
+            int lowest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && ranksHigher(heap[lowest], heap[left], scores)) {
+                lowest = left;
+            }
+            if (right < size && ranksHigher(heap[lowest], heap[right], scores)) {
+                lowest = right;
+            }
+            if (lowest == index) {
+                return;
+            }
+            swap(heap, index, lowest);
+            index = lowest;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+}
@@ -2,256 +2,315 @@ package com.example.backend.service;
 
 import com.example.backend.controller.UserController;
 import com.example.backend.dto.RecommendedUserDto;
+import com.example.backend.entity.PointLedger;
 import com.example.backend.entity.Recommendation;
 import com.example.backend.entity.User;
 import com.example.backend.exception.UserNotFoundException;
-import com.example.backend.repository.ParticipantRepository;
 import com.example.backend.repository.RecommendationRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.util.GeoUtils;
+import com.example.backend.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 @Service
 @RequiredArgsConstructor
 public class RecommendationService {
 
     private static final Logger log = LoggerFactory.getLogger(UserController.class);
     private final RecommendationRepository recommendationRepository;
-    private final ParticipantRepository participantRepository;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final UserGeoIndex userGeoIndex;
+    private final RecommendationRanker recommendationRanker;
+    private final RecommendationWriteBuffer recommendationWriteBuffer;
+    private final UserExclusionCache userExclusionCache;
+    private final DailyRecommendationCache dailyRecommendationCache;
+
+    // 점수 계산 대상 후보군 크기 (랭킹이 O(n log K)라 수천 명까지 늘려도 됨)
+    @Value("${recommendation.candidate-limit:50}")
+    private int candidateLimit;
+
+    // 후보군 검색 방식: sql (native 쿼리) | bounding-box (인덱스 사각형 필터 + 거리 계산) | grid-index (인메모리 격자 인덱스)
+    @Value("${recommendation.candidate-search:sql}")
+    private String candidateSearchMode;
 
     private static final int DAILY_RECOMMENDATION_LIMIT = 3;
-    private static final double HOBBY_WEIGHT = 0.6;
-    private static final double AGE_WEIGHT = 0.4;
+    private static final double SEARCH_RADIUS_KM = 50.0; // 50km 반경
     private static final int ADDITIONAL_RECOMMEND_POINT = 2;
 
     @Transactional // 이 어노테이션으로 전체 메소드가 하나의 트랜잭션으로 묶임
     public List<RecommendedUserDto> purchaseAdditionalRecommendations(Long currentUserId, int count) {
+        User currentUser = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new RuntimeException("Current user not found"));
 
-        // 1. 포인트 차감 로직 - 요청한 인원수만큼 포인트 차감
-        int pointsToDeduct = count * ADDITIONAL_RECOMMEND_POINT;
-        userService.deductPoints(currentUserId, pointsToDeduct);
+        // 1. 추가 추천 대상 선택 (조회와 점수 계산만 하고 잠금은 잡지 않음)
+        List<User> newRecommendedUsers = findAdditionalRecommendations(currentUser, count);
 
-        // 2. 추가 추천 로직 실행
+        // 2. 포인트 차감 로직 - 요청한 인원수만큼 포인트 차감
         // 포인트 차감 + 추천 -> 예외 시 묶어서 자동 롤백 (트랜잭션 원자적으로)
-        return getAdditionalRecommendations(currentUserId, count);
+        // 사용자 행 배타 잠금은 차감(조건부 UPDATE)부터 커밋까지, 즉 차감과 추천 INSERT 동안만 잡힘
+        // 차감이 추천 INSERT 보다 먼저라서 외래키 공유 잠금보다 배타 잠금을 먼저 잡으므로 동시 구매끼리 교착 상태가 되지 않음
+        int pointsToDeduct = count * ADDITIONAL_RECOMMEND_POINT;
+        userService.deductPoints(currentUserId, pointsToDeduct, PointLedger.Reason.ADDITIONAL_RECOMMENDATION);
+
+        if (newRecommendedUsers.isEmpty()) {
+            // 추천할 사람이 더 없을 경우 빈 리스트 반환
+            return Collections.emptyList();
+        }
+
+        // 3. 새로운 추천 기록을 DB에 저장
+        saveRecommendations(currentUser, newRecommendedUsers, LocalDate.now());
+
+        // 오늘 추천 목록이 늘었으므로 캐시된 목록 제거
+        TransactionUtils.afterCommit(() -> dailyRecommendationCache.invalidate(currentUserId));
+
+        // 4. 새로 추천된 사용자 목록을 DTO로 변환하여 반환
+        return newRecommendedUsers.stream()
+                .map(RecommendedUserDto::new)
+                .collect(Collectors.toList());
     }
 
     /**
-     * 추천에서 제외할 사용자 ID 목록을 생성하는 헬퍼 메서드
-     * @param currentUserId 현재 사용자 ID
-     * @return 본인, 오늘 이미 추천받은 사람, 현재 대화 중인 사람의 ID 목록
+     * 위치 기반 + 이성 필터링으로 추천 후보군을 검색하는 헬퍼 메서드
+     * 제외 대상(본인, 오늘 이미 추천받은 사람, 대화 중인 사람)은 SQL 의 NOT IN 목록 대신 캐시된 제외 집합으로 후처리
+     * - sql/bounding-box 모드: 제외될 수 있는 최대 인원만큼 더 조회한 뒤 걸러내므로 결과 수는 기존과 동일
+     * - grid-index 모드: 인메모리 위치 인덱스를 훑으면서 바로 제외 (결과 조건은 native 쿼리와 동일)
+     * @param currentUser 현재 사용자
+     * @param exclusions 추천 제외 집합
+     * @return 추천 대상 후보군
      */
-    private List<Long> getExcludeUserIds(Long currentUserId) {
-        // 1. 오늘 이미 추천받은 사람 목록 조회
-        List<Long> alreadyRecommendedIds = recommendationRepository.findRecommendedUserIdsByUserIdAndDate(currentUserId, LocalDate.now());
-
-        // 2. 현재 대화 중인 상대방 목록 조회
-        List<Long> chattingPartnerIds = participantRepository.findChattingPartnerIdsByUserId(currentUserId);
-
-        // 3. 세 목록(본인, 추천받은 사람, 대화 중인 사람)을 모두 합쳐서 최종 제외 목록 생성
-        List<Long> excludeUserIds = Stream.of(
-                Stream.of(currentUserId),
-                alreadyRecommendedIds.stream(),
-                chattingPartnerIds.stream()
-        ).flatMap(s -> s).distinct().collect(Collectors.toList());
-
-        // 쿼리 에러 방지를 위해 목록이 비어있으면 의미 없는 값(0L) 추가
-        if (excludeUserIds.isEmpty()) {
-            excludeUserIds.add(0L);
+    private List<User> findCandidates(User currentUser, UserExclusionCache.Exclusions exclusions) {
+        int fetchLimit = candidateLimit + exclusions.size();
+        List<User> rows;
+        switch (candidateSearchMode) {
+            case "grid-index" -> {
+                List<Long> candidateIds = userGeoIndex.findNearbyUserIds(
+                        currentUser.getLatitude(),
+                        currentUser.getLongitude(),
+                        SEARCH_RADIUS_KM,
+                        currentUser.getGender(),
+                        exclusions::contains,
+                        candidateLimit
+                );
+                return userRepository.findAllById(candidateIds);
+            }
+            case "bounding-box" -> {
+                GeoUtils.BoundingBox box = GeoUtils.boundingBox(
+                        currentUser.getLatitude(), currentUser.getLongitude(), SEARCH_RADIUS_KM);
+                rows = userRepository.findUsersNearByWithinBounds(
+                        currentUser.getLatitude(),
+                        currentUser.getLongitude(),
+                        SEARCH_RADIUS_KM,
+                        box.minLat(), box.maxLat(), box.minLon(), box.maxLon(),
+                        currentUser.getId(),
+                        currentUser.getGender().opposite().name(), // 반대 성별을 동등 조건으로 전달해야 인덱스를 탐
+                        fetchLimit
+                );
+            }
+            default -> rows = userRepository.findUsersNearBy(
+                    currentUser.getLatitude(),
+                    currentUser.getLongitude(),
+                    SEARCH_RADIUS_KM,
+                    currentUser.getId(),
+                    currentUser.getGender().name(), // 현재 유저의 성별을 전달하여 반대 성별을 찾음
+                    fetchLimit
+            );
         }
 
-        return excludeUserIds;
+        return rows.stream()
+                .filter(user -> !exclusions.contains(user.getId()))
+                .limit(candidateLimit)
+                .collect(Collectors.toList());
     }
 
     /**
-     * 포인트를 사용해 요청한 인원수만큼 사용자를 추가로 추천하는 메소드
-     * @param currentUserId 현재 사용자 ID
+     * 포인트를 사용해 추가로 추천할 사용자를 요청한 인원수만큼 고르는 헬퍼 메서드 (저장은 하지 않음)
+     * @param currentUser 현재 사용자
      * @param count 추가로 추천받을 인원 수
-     * @return 새로 추천된 사용자 정보 목록
+     * @return 새로 추천할 사용자 목록 (점수 순)
      */
-    @Transactional
-    public List<RecommendedUserDto> getAdditionalRecommendations(Long currentUserId, int count) {
-        // 1. 현재 사용자 정보 및 오늘 추천받은 사용자 목록 조회
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+    private List<User> findAdditionalRecommendations(User currentUser, int count) {
+        // 1. 제외 집합 조회 (본인 + 이미 추천한 모든 사람 + 채팅 중인 사람, 캐시됨)
+        UserExclusionCache.Exclusions exclusions = userExclusionCache.get(currentUser.getId(), LocalDate.now());
+
+        // 2. 위치 기반 + 이성 필터링으로 '요청한 인원(count)' 만큼 새로운 추천 대상 검색
+        List<User> candidates = findCandidates(currentUser, exclusions);
 
-        // 2. 제외할 ID 목록 생성 (본인 + 이미 추천한 모든 사람 + 채팅 중인 사람)
-        List<Long> excludeUserIds = getExcludeUserIds(currentUserId);
-
-        // 3. 위치 기반 + 이성 필터링으로 '요청한 인원(count)' 만큼 새로운 추천 대상 검색
-        List<User> candidates = userRepository.findUsersNearBy(
-                currentUser.getLatitude(),
-                currentUser.getLongitude(),
-                50.0, // 50km 반경
-                excludeUserIds,
-                currentUser.getGender().name(),
-                50 // 요청 인원(count)보다 넉넉하게 50명 후보군 확보
-        );
-        
         // 필요 시 구현하기
 //        if (newRecommendedUsers.size() < count){
 //            // 포인트 회복 처리 로직
 //            // 해커톤 레벨에서는 사용할 일 없을 듯
 //        }
 
-        // 4. 후보군 중에서 '나'와 가장 잘 맞는 순서로 정렬 (점수 기반)
-        candidates.sort((u1, u2) -> {
-            double score1 = calculateRecommendationScore(currentUser, u1);
-            double score2 = calculateRecommendationScore(currentUser, u2);
-            return Double.compare(score2, score1); // 점수가 높은 순(내림차순)으로 정렬
-        });
-
-        // 5. 정렬된 후보군 중에서 요청한 인원수(count)만큼만 최종 선택
-        List<User> newRecommendedUsers = candidates.stream()
-                .limit(count)
-                .toList();
-
-        if (newRecommendedUsers.isEmpty()) {
-            // 추천할 사람이 더 없을 경우 빈 리스트 반환
-            return Collections.emptyList();
-        }
-
-        // 6. 새로운 추천 기록을 DB에 저장
-        newRecommendedUsers.forEach(recommendedUser -> {
-            Recommendation newLog = Recommendation.builder()
-                    .user(currentUser)
-                    .recommendedUser(recommendedUser)
-                    .date(LocalDate.now())
-                    .build();
-            recommendationRepository.save(newLog);
-        });
-
-        // 7. 새로 추천된 사용자 목록을 DTO로 변환하여 반환
-        return newRecommendedUsers.stream()
-                .map(RecommendedUserDto::new)
-                .collect(Collectors.toList());
+        // 3. 후보군 중에서 '나'와 가장 잘 맞는 순서로 요청한 인원수(count)만큼만 최종 선택 (점수 기반)
+        return recommendationRanker.topK(currentUser, candidates, count);
     }
 
     @Transactional
     public List<RecommendedUserDto> getRecommendationsForUser(Long currentUserId) {
+        LocalDate today = LocalDate.now();
+
+        // 0. 오늘 추천을 다 받은 사용자는 캐시된 목록을 그대로 반환 (DB 조회 없음)
+        Optional<List<RecommendedUserDto>> cached = dailyRecommendationCache.get(currentUserId, today);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long cacheGeneration = dailyRecommendationCache.generation();
+
         // 1. 현재 사용자 정보 조회
         User currentUser = userRepository.findById(currentUserId)
                 .orElseThrow(() -> new UserNotFoundException("Current user not found"));
 
-        LocalDate today = LocalDate.now();
-
         // 2. 오늘 이미 추천받은 기록이 있는지 확인
-        List<Long> alreadyRecommendedIds = recommendationRepository.findRecommendedUserIdsByUserIdAndDate(currentUserId, today);
+        List<Long> alreadyRecommendedIds = findRecommendedUserIds(currentUserId, today);
 
         // 3. 이미 3명 이상 추천받았다면, 기존 추천 목록을 그대로 반환
         if (alreadyRecommendedIds.size() >= DAILY_RECOMMENDATION_LIMIT) {
             List<User> recommendedUsers = userRepository.findAllById(alreadyRecommendedIds);
-            return recommendedUsers.stream()
+            List<RecommendedUserDto> recommendations = recommendedUsers.stream()
                     .map(RecommendedUserDto::new)
                     .collect(Collectors.toList());
+            cacheDailyRecommendations(currentUserId, today, recommendations, cacheGeneration);
+            return recommendations;
         }
 
-        // 4. 새로 추천해야 할 인원 수 계산
-        int neededRecommendations = DAILY_RECOMMENDATION_LIMIT - alreadyRecommendedIds.size();
-
-        // 5. 제외할 ID 목록 생성 (본인 + 이미 추천한 모든 사람 + 채팅 중인 사람)
-        List<Long> excludeUserIds = getExcludeUserIds(currentUserId);
-
-        // 6. 위치 기반 + 이성 필터링으로 새로운 추천 대상 '후보군' 검색
-        List<User> candidates = userRepository.findUsersNearBy(
-                currentUser.getLatitude(),
-                currentUser.getLongitude(),
-                50.0, // 50km 반경
-                excludeUserIds,
-                currentUser.getGender().name(), // 현재 유저의 성별을 전달하여 반대 성별을 찾음
-                50 // 필요한 3명보다 넉넉하게 50명 후보군 확보
-        );
-
-        for (User candidate : candidates){
-            log.info(">>>>> cadidatie 추출 성공, candidate ID: {}", candidate.getId());
-            log.info(">>>>> cadidatie 추출 성공, candidate Age: {}", candidate.getAge());
-            log.info(">>>>> cadidatie 추출 성공, candidate Gender: {}", candidate.getGender());
-            log.info(">>>>> cadidatie 추출 성공, candidate Hobbies: {}", candidate.getHobbies());
-            log.info(">>>>> cadidatie 추출 성공, candidate Introduction: {}", candidate.getIntroduction());
-        }
-
-        // 7. 후보군 중에서 '나'와 가장 잘 맞는 순서로 정렬 (점수 기반)
-        candidates.sort((u1, u2) -> {
-            double score1 = calculateRecommendationScore(currentUser, u1);
-            double score2 = calculateRecommendationScore(currentUser, u2);
-            return Double.compare(score2, score1); // 점수가 높은 순(내림차순)으로 정렬
-        });
-
-        // 8. 정렬된 후보군 중에서 필요한 만큼만 최종 선택
-        List<User> newRecommendedUsers = candidates.stream()
-                .limit(neededRecommendations)
-                .toList();
-
-        // 9. 새로운 추천 기록을 DB에 저장
-        newRecommendedUsers.forEach(recommendedUser -> {
-            Recommendation newLog = Recommendation.builder()
-                    .user(currentUser)
-                    .recommendedUser(recommendedUser)
-                    .date(today)
-                    .build();
-            recommendationRepository.save(newLog);
-        });
+        // 4~9. 부족한 인원만큼 새로 추천하고 기록 저장
+        List<User> newRecommendedUsers = recommendNewUsers(currentUser, alreadyRecommendedIds, today);
 
         // 10. 최종 추천 목록(기존+신규)을 DTO로 변환하여 반환
         List<Long> finalRecommendedIds = Stream.concat(alreadyRecommendedIds.stream(), newRecommendedUsers.stream().map(User::getId))
                 .collect(Collectors.toList());
 
-        return userRepository.findAllById(finalRecommendedIds).stream()
+        List<RecommendedUserDto> recommendations = userRepository.findAllById(finalRecommendedIds).stream()
                 .map(RecommendedUserDto::new)
                 .collect(Collectors.toList());
+        // 후보가 부족해서 한도를 못 채운 경우는 나중에 새 후보가 생길 수 있으므로 캐시하지 않음
+        if (recommendations.size() >= DAILY_RECOMMENDATION_LIMIT) {
+            cacheDailyRecommendations(currentUserId, today, recommendations, cacheGeneration);
+        }
+        return recommendations;
     }
 
     /**
-     * 두 사용자 간의 추천 점수를 계산하는 헬퍼 메소드
+     * 커밋된 뒤에만 캐시에 저장 (롤백된 추천 기록이 캐시에 남지 않도록)
+     */
+    private void cacheDailyRecommendations(Long userId, LocalDate date, List<RecommendedUserDto> recommendations, long generation) {
+        TransactionUtils.afterCommit(() -> dailyRecommendationCache.put(userId, date, recommendations, generation));
+    }
+
+    /**
+     * 오늘의 무료 추천을 미리 계산해서 Recommendation 으로 저장 (야간 배치용)
+     * 이미 오늘 추천을 다 받은 사용자는 건너뜀
+     * @param userId 사용자 ID
+     * @return 새로 저장된 추천 수
+     */
+    @Transactional
+    public int precomputeDailyRecommendations(Long userId) {
+        User currentUser = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("Current user not found"));
+        if (currentUser.getGender() == null) {
+            return 0; // 성별을 모르면 이성 필터링을 할 수 없으므로 요청 시점 추천에 맡김
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Long> alreadyRecommendedIds = findRecommendedUserIds(userId, today);
+        if (alreadyRecommendedIds.size() >= DAILY_RECOMMENDATION_LIMIT) {
+            return 0;
+        }
+        return recommendNewUsers(currentUser, alreadyRecommendedIds, today).size();
+    }
+
+    /**
+     * 오늘 추천 한도(3명)에서 부족한 인원만큼 새로 추천하고 기록을 저장하는 헬퍼 메서드
      * @param currentUser 현재 사용자
-     * @param candidateUser 추천 후보 사용자
-     * @return 최종 추천 점수 (높을수록 적합)
+     * @param alreadyRecommendedIds 오늘 이미 추천받은 사용자 ID 목록
+     * @param today 오늘 날짜
+     * @return 새로 추천된 사용자 목록
      */
-    private double calculateRecommendationScore(User currentUser, User candidateUser) {
+    private List<User> recommendNewUsers(User currentUser, List<Long> alreadyRecommendedIds, LocalDate today) {
+        Long currentUserId = currentUser.getId();
 
-        // 1. 취미 점수 계산 (가중치 60%)
-        long hobbyMatches = countMatchingHobbies(currentUser, candidateUser);
-        double hobbyScore = hobbyMatches * 20; // 겹치는 취미 1개당 20점
+        // 4. 새로 추천해야 할 인원 수 계산
+        int neededRecommendations = DAILY_RECOMMENDATION_LIMIT - alreadyRecommendedIds.size();
 
-        // 2. 나이 점수 계산 (가중치 40%)
-        int currentUserAge = parseAge(currentUser.getAge());
-        int candidateUserAge = parseAge(candidateUser.getAge());
+        // 5. 제외 집합 조회 (본인 + 이미 추천한 모든 사람 + 채팅 중인 사람, 캐시됨)
+        UserExclusionCache.Exclusions exclusions = userExclusionCache.get(currentUserId, today);
 
-        // 나이 차이가 적을수록 높은 점수 (최대 100점)
-        int ageDifference = Math.abs(currentUserAge - candidateUserAge);
-        double ageScore = Math.max(0, 100 - (ageDifference * 5.0)); // 1살 차이마다 5점씩 감점
+        // 6. 위치 기반 + 이성 필터링으로 새로운 추천 대상 '후보군' 검색
+        List<User> candidates = findCandidates(currentUser, exclusions);
+
+        log.debug(">>>>> candidate 추출 성공, 후보 수: {}", candidates.size());
+        if (log.isDebugEnabled()) { // 후보군이 커지면 후보별 로그가 응답 시간을 잡아먹으므로 debug 로만 출력
+            for (User candidate : candidates) {
+                log.debug(">>>>> candidate ID: {}, Age: {}, Gender: {}, Hobbies: {}, Introduction: {}",
+                        candidate.getId(), candidate.getAge(), candidate.getGender(),
+                        candidate.getHobbies(), candidate.getIntroduction());
+            }
+        }
+
+        // 7~8. 후보군 중에서 '나'와 가장 잘 맞는 순서로 필요한 만큼만 최종 선택 (점수 기반)
+        List<User> newRecommendedUsers = recommendationRanker.topK(currentUser, candidates, neededRecommendations);
 
-        // 3. 가중치를 적용하여 최종 점수 계산
-        return (hobbyScore * HOBBY_WEIGHT) + (ageScore * AGE_WEIGHT);
+        // 9. 새로운 추천 기록을 DB에 저장
+        saveRecommendations(currentUser, newRecommendedUsers, today);
+
+        return newRecommendedUsers;
     }
 
     /**
-     * DB에 저장된 나이 문자열(예: "70 후반", "60대")에서 숫자만 추출하는 헬퍼 메소드
+     * 특정 날짜에 추천받은 사용자 ID 목록 (DB + 아직 저장 대기 중인 write-behind 버퍼)
+     * @param userId 사용자
+     * @param date 날짜
+     * @return 추천된 사용자 ID 목록
      */
-    private int parseAge(String ageStr) {
-        if (ageStr == null || ageStr.isBlank()) {
-            return 70; // 나이 정보가 없을 경우 기본값 70세로 간주
+    private List<Long> findRecommendedUserIds(Long userId, LocalDate date) {
+        List<Long> recommendedIds = recommendationRepository.findRecommendedUserIdsByUserIdAndDate(userId, date);
+        if (!recommendationWriteBuffer.isEnabled()) {
+            return recommendedIds;
+        }
+        List<Long> pendingIds = recommendationWriteBuffer.pendingRecommendedUserIds(userId, date);
+        if (pendingIds.isEmpty()) {
+            return recommendedIds;
         }
-        try {
-            // "세", "대" 등 모든 문자를 제거하고 숫자만 남겨서 정수로 변환
-            return Integer.parseInt(ageStr.replaceAll("[^0-9]", ""));
-        } catch (NumberFormatException e) {
-            return 70; // 변환 실패 시 기본값 70세로 간주
+        return Stream.concat(recommendedIds.stream(), pendingIds.stream())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 추천 기록을 한 번에 저장하는 헬퍼 메서드
+     * write-behind 가 켜져 있으면 버퍼에 넣고(커밋 후 비동기 일괄 저장), 아니면 saveAll 로 JDBC batch insert
+     */
+    private void saveRecommendations(User currentUser, List<User> recommendedUsers, LocalDate date) {
+        userExclusionCache.recordRecommendations(currentUser.getId(),
+                recommendedUsers.stream().map(User::getId).toList(), date);
+
+        if (recommendationWriteBuffer.isEnabled()) {
+            recommendationWriteBuffer.enqueue(recommendedUsers.stream()
+                    .map(recommendedUser -> new RecommendationWriteBuffer.PendingRecommendation(
+                            currentUser.getId(), recommendedUser.getId(), date))
+                    .toList());
+            return;
         }
+        recommendationRepository.saveAll(recommendedUsers.stream()
+                .map(recommendedUser -> Recommendation.builder()
+                        .user(currentUser)
+                        .recommendedUser(recommendedUser)
+                        .date(date)
+                        .build())
+                .toList());
     }
 
     public List<Recommendation> findAll() {
@@ -259,30 +318,12 @@ public class RecommendationService {
     }
 
     public Recommendation save(Recommendation rec) {
-        return recommendationRepository.save(rec);
-    }
-
-    /**
-     * hobbies 필드(JSON 문자열)를 파싱하여 겹치는 취미 개수를 세는 헬퍼 메소드
-     */
-    private long countMatchingHobbies(User user1, User user2) {
-        ObjectMapper mapper = new ObjectMapper();
-        try {
-            // hobbies가 null이거나 비어있을 경우를 대비
-            if (user1.getHobbies() == null || user2.getHobbies() == null ||
-                    user1.getHobbies().isBlank() || user2.getHobbies().isBlank()) {
-                return 0;
-            }
-            List<String> hobbies1 = mapper.readValue(user1.getHobbies(), new TypeReference<>() {});
-            List<String> hobbies2 = mapper.readValue(user2.getHobbies(), new TypeReference<>() {});
-
-            // 공통된 요소의 개수를 효율적으로 계산
-            hobbies1.retainAll(hobbies2);
-            return hobbies1.size();
-        } catch (Exception e) {
-            // JSON 파싱 실패 시 로그를 남기고 0을 반환하여 서비스 중단을 방지
-            // log.error("Failed to parse hobbies", e);
-            return 0;
+        Recommendation saved = recommendationRepository.save(rec);
+        if (saved.getUser() != null && saved.getRecommendedUser() != null) {
+            userExclusionCache.recordRecommendations(saved.getUser().getId(),
+                    List.of(saved.getRecommendedUser().getId()), saved.getDate());
+            dailyRecommendationCache.invalidate(saved.getUser().getId());
         }
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,251 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Recommendation;
+import com.example.backend.repository.RecommendationRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 추천 기록(Recommendation)의 비동기 write-behind 버퍼
+ * - 요청 트랜잭션이 커밋된 뒤 버퍼에 쌓고, 일정 개수(batch-size)가 차거나 일정 시간(flush-interval-ms)이 지나면 saveAll 로 한 번에 저장
+ * - 아직 DB 에 쓰이지 않은 기록도 pendingRecommendedUserIds()로 조회되므로 "오늘 이미 추천받은 사람" 판단이 어긋나지 않음
+ * - 저장에 실패한 묶음은 지수 백오프로 max-attempts 번까지 다시 시도하고, 그래도 실패하면 한 건씩 저장해 본 뒤
+ *   끝내 저장되지 않은 기록은 dead-letter 로그(recommendation.dead-letter)에 남기고 버림
+ * - Recommendation ID 는 recommendations_seq 테이블에서 받아오므로 MySQL 에 이 테이블이 있어야 함 (resources/db/recommendations_seq.sql)
+ */
+@Component
+@RequiredArgsConstructor
+public class RecommendationWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationWriteBuffer.class);
+    // 재시도를 다 쓰고 버린 추천 기록 (운영에서 따로 수집해 수동으로 다시 넣을 수 있도록 별도 로거)
+    private static final Logger deadLetterLog = LoggerFactory.getLogger("recommendation.dead-letter");
+
+    private final RecommendationRepository recommendationRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${recommendation.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${recommendation.write-behind.batch-size:500}")
+    private int batchSize;
+
+    // 한 묶음을 저장해 보는 최대 횟수 (첫 시도 포함)
+    @Value("${recommendation.write-behind.max-attempts:5}")
+    private int maxAttempts;
+
+    // 재시도 간격 (시도마다 2배)
+    @Value("${recommendation.write-behind.retry-delay-ms:1000}")
+    private long retryDelayMs;
+
+    // 사용자 ID -> 아직 저장 대기 중인 추천 기록
+    private Map<Long, List<PendingRecommendation>> pending = new HashMap<>();
+    // 현재 flush 중인(DB 에 쓰는 중인) 추천 기록
+    private Map<Long, List<PendingRecommendation>> inFlight = new HashMap<>();
+    private int pendingCount = 0;
+    // 저장에 실패해서 재시도를 기다리는 묶음
+    private final Deque<RetryBatch> retries = new ArrayDeque<>();
+
+    // DB 저장 중에 잡고 있는 락이므로 synchronized 대신 ReentrantLock 사용 (가상 스레드 pinning 방지)
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor();
+
+    public record PendingRecommendation(Long userId, Long recommendedUserId, LocalDate date) {
+    }
+
+    private record RetryBatch(List<PendingRecommendation> records, int attempts, long nextAttemptAt) {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 추천 기록을 버퍼에 추가
+     * 트랜잭션 안에서 호출되면 커밋 이후에 추가해서, 롤백된 추천(예: 포인트 부족)은 저장되지 않도록 함
+     */
+    public void enqueue(List<PendingRecommendation> recommendations) {
+        if (recommendations.isEmpty()) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> add(recommendations));
+    }
+
+    /**
+     * 아직 DB 에 저장되지 않은(대기 중 + flush 중 + 재시도 대기 중) 추천 대상 ID 목록
+     * @param userId 사용자
+     * @param date 날짜
+     * @return 추천된 사용자 ID 목록
+     */
+    public synchronized List<Long> pendingRecommendedUserIds(Long userId, LocalDate date) {
+        List<Long> ids = new ArrayList<>();
+        collect(pending.get(userId), date, ids);
+        collect(inFlight.get(userId), date, ids);
+        for (RetryBatch retry : retries) {
+            for (PendingRecommendation recommendation : retry.records()) {
+                if (recommendation.userId().equals(userId) && recommendation.date().equals(date)) {
+                    ids.add(recommendation.recommendedUserId());
+                }
+            }
+        }
+        return ids;
+    }
+
+    @Scheduled(fixedDelayString = "${recommendation.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        flush(false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush(true); // 종료 전에 남은 기록 저장 (재시도 대기 중인 묶음도 한 번 더 시도)
+    }
+
+    /**
+     * @param allRetries true 면 재시도 시각이 되지 않은 묶음도 함께 저장
+     */
+    private void flush(boolean allRetries) {
+        flushLock.lock();
+        try {
+            List<PendingRecommendation> batch = new ArrayList<>();
+            List<RetryBatch> dueRetries = new ArrayList<>();
+            synchronized (this) {
+                long now = System.currentTimeMillis();
+                for (Iterator<RetryBatch> iterator = retries.iterator(); iterator.hasNext(); ) {
+                    RetryBatch retry = iterator.next();
+                    if (allRetries || retry.nextAttemptAt() <= now) {
+                        dueRetries.add(retry);
+                        iterator.remove();
+                    }
+                }
+                if (pendingCount == 0 && dueRetries.isEmpty()) {
+                    return;
+                }
+                inFlight = pending;
+                pending = new HashMap<>();
+                pendingCount = 0;
+                inFlight.values().forEach(batch::addAll);
+                // 재시도하는 기록도 저장하는 동안 flush 중으로 조회되도록 함
+                for (RetryBatch retry : dueRetries) {
+                    for (PendingRecommendation recommendation : retry.records()) {
+                        inFlight.computeIfAbsent(recommendation.userId(), k -> new ArrayList<>()).add(recommendation);
+                    }
+                }
+            }
+
+            try {
+                if (!batch.isEmpty()) {
+                    save(batch, 0);
+                }
+                for (RetryBatch retry : dueRetries) {
+                    save(retry.records(), retry.attempts());
+                }
+            } finally {
+                synchronized (this) {
+                    inFlight = new HashMap<>();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 묶음 저장, 실패하면 백오프 후 재시도 대기열로, 재시도를 다 쓰면 dead-letter 처리
+     * @param previousAttempts 이 묶음을 이전에 저장 시도한 횟수
+     */
+    private void save(List<PendingRecommendation> records, int previousAttempts) {
+        long startedAt = System.nanoTime();
+        try {
+            write(records);
+            double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+            log.debug(">>>>> 추천 기록 {}건 저장 ({} inserts/sec)", records.size(),
+                    String.format("%.0f", elapsedSeconds > 0 ? records.size() / elapsedSeconds : 0));
+        } catch (Exception e) {
+            int attempts = previousAttempts + 1;
+            if (attempts >= maxAttempts) {
+                log.error("추천 기록 일괄 저장 {}회 실패, 한 건씩 저장 후 실패한 기록은 버립니다. ({}건)", attempts, records.size(), e);
+                saveIndividually(records);
+                return;
+            }
+            long delay = retryDelayMs << Math.min(attempts - 1, 10);
+            log.warn("추천 기록 일괄 저장 실패, {}ms 후 재시도합니다. ({}건, {}/{}회): {}",
+                    delay, records.size(), attempts, maxAttempts, e.toString());
+            synchronized (this) {
+                retries.addLast(new RetryBatch(records, attempts, System.currentTimeMillis() + delay));
+            }
+        }
+    }
+
+    /**
+     * 묶음 안의 일부 기록(예: 탈퇴한 사용자 참조) 때문에 전체가 실패하는 경우를 위해 한 건씩 저장
+     */
+    private void saveIndividually(List<PendingRecommendation> records) {
+        for (PendingRecommendation recommendation : records) {
+            try {
+                write(List.of(recommendation));
+            } catch (Exception e) {
+                deadLetterLog.error("userId={}, recommendedUserId={}, date={}, error={}",
+                        recommendation.userId(), recommendation.recommendedUserId(), recommendation.date(), e.toString());
+            }
+        }
+    }
+
+    private void write(List<PendingRecommendation> records) {
+        transactionTemplate.executeWithoutResult(status -> recommendationRepository.saveAll(
+                records.stream()
+                        .map(p -> Recommendation.builder()
+                                .user(userRepository.getReferenceById(p.userId()))
+                                .recommendedUser(userRepository.getReferenceById(p.recommendedUserId()))
+                                .date(p.date())
+                                .build())
+                        .toList()));
+    }
+
+    private void add(List<PendingRecommendation> recommendations) {
+        boolean full;
+        synchronized (this) {
+            for (PendingRecommendation recommendation : recommendations) {
+                pending.computeIfAbsent(recommendation.userId(), k -> new ArrayList<>()).add(recommendation);
+            }
+            pendingCount += recommendations.size();
+            full = pendingCount >= batchSize;
+        }
+        if (full && !flusher.isShutdown()) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    private static void collect(List<PendingRecommendation> source, LocalDate date, List<Long> target) {
+        if (source == null) {
+            return;
+        }
+        for (PendingRecommendation recommendation : source) {
+            if (recommendation.date().equals(date)) {
+                target.add(recommendation.recommendedUserId());
+            }
+        }
+    }
+}
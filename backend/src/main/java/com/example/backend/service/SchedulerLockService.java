@@ -0,0 +1,55 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.SchedulerLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * scheduler_locks 행으로 여러 노드 중 한 노드에서만 배치를 실행하도록 하는 잠금
+ * - 잠금마다 짧은 트랜잭션으로 가져가고 풀기 때문에 배치가 도는 동안 DB 커넥션을 잡고 있지 않음
+ * - lockAtMost 가 지나면 (노드가 죽었거나 배치가 너무 오래 걸려도) 다른 노드가 다시 가져갈 수 있음
+ */
+@Service
+@RequiredArgsConstructor
+public class SchedulerLockService {
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // 잠금 소유자 구분용 노드 ID
+    private final String nodeId = nodeId();
+
+    /**
+     * @param lockAtMost 배치가 끝나지 않아도 잠금이 풀리는 시간
+     * @return 잠금을 가져갔으면 true (다른 노드가 실행 중이면 false)
+     */
+    public boolean tryLock(String name, Duration lockAtMost) {
+        Integer acquired = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            schedulerLockRepository.insertIfAbsent(name, now);
+            return schedulerLockRepository.acquire(name, nodeId, now, now.plus(lockAtMost));
+        });
+        return acquired != null && acquired > 0;
+    }
+
+    public void unlock(String name) {
+        transactionTemplate.executeWithoutResult(status ->
+                schedulerLockRepository.release(name, nodeId, LocalDateTime.now()));
+    }
+
+    private static String nodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
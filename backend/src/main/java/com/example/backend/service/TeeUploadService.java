@@ -0,0 +1,303 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 온보딩 영상을 받으면서 동시에 AI 서버(/process-video)로 전달하는 업로드 파이프라인
+ * - 요청 본문을 한 번만 읽어서 디스크(임시 파일)와 AI 서버 요청 본문에 함께 씀 (저장 후 파일을 다시 읽어 보내지 않음)
+ * - AI 서버가 업로드를 받는 속도에 맞춰 클라이언트 본문을 읽으므로 메모리에는 읽기 버퍼 하나만 올라감 (backpressure)
+ * - AI 서버 요청이 실패해도 나머지 본문을 디스크에 마저 받고 기존처럼 작업 큐로 분석을 요청
+ */
+@Service
+@RequiredArgsConstructor
+public class TeeUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(TeeUploadService.class);
+
+    private final FileStorageService fileStorageService;
+    private final AiAnalysisService aiAnalysisService;
+    private final UserService userService;
+
+    // 한 번에 읽어서 디스크와 AI 서버로 넘기는 크기
+    @Value("${ai.upload.tee-buffer-bytes:65536}")
+    private int bufferBytes;
+
+    @Value("${upload.max-size-bytes:524288000}")
+    private long maxSizeBytes;
+
+    private final AtomicLong uploads = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong totalTimeToTaskIdMs = new AtomicLong();
+    private final AtomicLong maxTimeToTaskIdMs = new AtomicLong();
+    private final AtomicLong orphanedTasks = new AtomicLong();
+
+    /**
+     * 업로드 본문을 저장하면서 AI 서버에 분석을 요청하고 온보딩
+     * @param body 요청 본문 (영상 바이트)
+     * @param fileName 원본 파일 이름
+     * @param profileUrl 프로필 사진 URL (없으면 기본 이미지)
+     */
+    public User onboard(InputStream body, String fileName, String profileUrl) {
+        String safeName = FileStorageService.sanitizeFileName(fileName);
+        Path tempFile = fileStorageService.getTempLocation().resolve(UUID.randomUUID() + ".tee");
+        MessageDigest digest = FileStorageService.newDigest();
+        long startedAt = System.currentTimeMillis();
+
+        TeeInputStream tee;
+        try {
+            tee = new TeeInputStream(body, Files.newOutputStream(tempFile), digest, maxSizeBytes);
+        } catch (IOException e) {
+            throw new RuntimeException("업로드 임시 파일을 만들 수 없습니다.", e);
+        }
+
+        String taskId = null;
+        long timeToTaskIdMs = 0;
+        boolean fellBack = false;
+        String videoPath;
+        try {
+            try {
+                taskId = aiAnalysisService.requestAnalysis(new StreamedVideoResource(tee, safeName));
+                timeToTaskIdMs = System.currentTimeMillis() - startedAt;
+            } catch (Exception e) {
+                if (!tee.isLimitExceeded()) {
+                    log.warn(">>>>> 업로드 중 AI 분석 요청 실패, 저장 후 작업 큐로 다시 요청: {}", e.toString());
+                    fellBack = true;
+                }
+            }
+            // AI 서버가 본문을 다 읽기 전에 응답했거나 요청이 실패한 경우 나머지를 디스크에 마저 받음
+            tee.drain();
+            tee.closeAll();
+            videoPath = fileStorageService.storeTempFile(tempFile, safeName, digest);
+        } catch (IOException e) {
+            tee.closeQuietly();
+            deleteQuietly(tempFile);
+            recordOrphanedTask(taskId);
+            throw new RuntimeException(tee.isLimitExceeded()
+                    ? "업로드 파일이 너무 큽니다. (최대 " + maxSizeBytes + " bytes)"
+                    : "업로드 파일을 저장할 수 없습니다.", e);
+        } catch (RuntimeException e) {
+            tee.closeQuietly();
+            deleteQuietly(tempFile);
+            recordOrphanedTask(taskId);
+            throw e;
+        }
+
+        User user;
+        try {
+            user = userService.onboardUserWithVideo(videoPath, profileUrl, taskId);
+        } catch (RuntimeException e) {
+            recordOrphanedTask(taskId);
+            throw e;
+        }
+
+        // 온보딩까지 끝난 업로드만 지표에 반영
+        uploads.incrementAndGet();
+        bytes.addAndGet(tee.getCount());
+        if (fellBack) {
+            fallbacks.incrementAndGet();
+        }
+        if (taskId != null) {
+            recordTimeToTaskId(timeToTaskIdMs);
+        }
+        return user;
+    }
+
+    /**
+     * 업로드 지표: 업로드 수, AI 요청 실패로 작업 큐를 쓴 수, 업로드 시작부터 task_id 를 받기까지 걸린 시간,
+     * task_id 를 받았지만 온보딩이 실패해서 주인 없이 남은 AI 작업 수
+     */
+    public Map<String, Object> stats() {
+        long succeeded = uploads.get() - fallbacks.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("uploads", uploads.get());
+        stats.put("fallbacks", fallbacks.get());
+        stats.put("orphanedTasks", orphanedTasks.get());
+        stats.put("bytes", bytes.get());
+        stats.put("avgTimeToTaskIdMs", succeeded <= 0 ? 0 : totalTimeToTaskIdMs.get() / succeeded);
+        stats.put("maxTimeToTaskIdMs", maxTimeToTaskIdMs.get());
+        return stats;
+    }
+
+    /**
+     * AI 서버는 이미 분석을 시작했지만 사용자가 만들어지지 않은 작업
+     * AI 서버에 작업 취소 API 가 없으므로 task_id 를 남겨 두고, 늦게 오는 콜백/폴링 결과는 사용자를 찾지 못해 버려짐
+     */
+    private void recordOrphanedTask(String taskId) {
+        if (taskId == null) {
+            return;
+        }
+        orphanedTasks.incrementAndGet();
+        log.warn(">>>>> 업로드 처리 실패로 주인 없는 AI 분석 작업이 남았습니다, Task ID: {}", taskId);
+    }
+
+    private void recordTimeToTaskId(long elapsedMs) {
+        totalTimeToTaskIdMs.addAndGet(elapsedMs);
+        maxTimeToTaskIdMs.accumulateAndGet(elapsedMs, Math::max);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn(">>>>> 업로드 임시 파일 삭제 실패: {}", file);
+        }
+    }
+
+    /**
+     * 읽은 바이트를 그대로 디스크에도 쓰고 해시를 계산하는 스트림 (AI 서버 요청 본문으로 읽힘)
+     */
+    private final class TeeInputStream extends FilterInputStream {
+        private final OutputStream file;
+        private final MessageDigest digest;
+        private final long limit;
+        // AI 서버 요청 스레드와 drain 이 번갈아 읽으므로 잠금 (synchronized 는 읽기 중 블로킹 시 가상 스레드의 캐리어를 묶음)
+        private final ReentrantLock lock = new ReentrantLock();
+        private long count = 0;
+        private volatile boolean limitExceeded = false;
+
+        private TeeInputStream(InputStream in, OutputStream file, MessageDigest digest, long limit) {
+            super(in);
+            this.file = file;
+            this.digest = digest;
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            lock.lock();
+            try {
+                int read = in.read(b, off, Math.min(len, bufferBytes));
+                if (read > 0) {
+                    count += read;
+                    if (count > limit) {
+                        limitExceeded = true;
+                        throw new IOException("업로드 파일이 최대 크기를 넘었습니다.");
+                    }
+                    file.write(b, off, read);
+                    digest.update(b, off, read);
+                }
+                return read;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // 건너뛴 부분도 디스크에 남아야 하므로 읽어서 버림
+            byte[] buffer = new byte[(int) Math.min(n, bufferBytes)];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        /**
+         * 아직 읽히지 않은 본문을 끝까지 읽어 디스크에 씀
+         */
+        private void drain() throws IOException {
+            byte[] buffer = new byte[bufferBytes];
+            while (read(buffer, 0, buffer.length) >= 0) {
+                // 읽는 동안 디스크에 기록됨
+            }
+            if (limitExceeded) {
+                throw new IOException("업로드 파일이 최대 크기를 넘었습니다.");
+            }
+        }
+
+        private long getCount() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean isLimitExceeded() {
+            return limitExceeded;
+        }
+
+        /**
+         * AI 서버 요청이 본문 스트림을 닫아도 디스크 기록은 drain 이후에 끝나야 하므로 여기서는 닫지 않음
+         */
+        @Override
+        public void close() {
+        }
+
+        private void closeAll() throws IOException {
+            try {
+                file.close();
+            } finally {
+                in.close();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                closeAll();
+            } catch (IOException ignored) {
+                // 실패 처리 중이므로 무시
+            }
+        }
+    }
+
+    /**
+     * 업로드 스트림을 파일 이름이 있는 multipart 파트로 보내기 위한 Resource
+     * 길이를 모르므로 -1 을 돌려서 본문을 미리 읽지 않고 chunked 로 전송되게 함
+     */
+    private static final class StreamedVideoResource extends InputStreamResource {
+        private final String fileName;
+
+        private StreamedVideoResource(InputStream inputStream, String fileName) {
+            super(inputStream);
+            this.fileName = fileName;
+        }
+
+        @Override
+        public String getFilename() {
+            return fileName;
+        }
+
+        @Override
+        public long contentLength() {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.ParticipantRepository;
+import com.example.backend.repository.RecommendationRepository;
+import com.example.backend.util.LongSortedSet;
+import com.example.backend.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자별 추천 제외 집합(오늘 이미 추천받은 사람 + 대화 중인 사람) 캐시
+ * - 처음 조회할 때만 DB 에서 읽고, 이후에는 Recommendation/Participant 저장 시 증분 갱신
+ * - 사용자당 정렬된 long[] 두 개만 들고 있으며, 전체 메모리 예산(max-bytes)을 넘으면 가장 오래 안 쓴 사용자부터 제거(LRU)
+ * - 사용자별 버전: 증분 갱신이 캐시에 없는 사용자에게 와도 올려서, 그 전에 시작한 DB 조회 결과로 덮어쓰지 않도록 함
+ */
+@Component
+@RequiredArgsConstructor
+public class UserExclusionCache {
+
+    // 사용자 엔트리 하나의 고정 오버헤드 추정치 (맵 노드 + 키 + 엔트리 객체)
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+    // 사용자 버전 슬롯 수 (사용자 id 로 나눠 쓰므로 메모리가 고정, 다른 사용자와 겹치면 한 번 더 읽을 뿐)
+    private static final int VERSION_SLOTS = 4096;
+
+    private final RecommendationRepository recommendationRepository;
+    private final ParticipantRepository participantRepository;
+    private final RecommendationWriteBuffer recommendationWriteBuffer;
+
+    @Value("${recommendation.exclusion-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    // 접근 순서(access-order) LinkedHashMap 으로 LRU 구현
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes = 0;
+    private final long[] versions = new long[VERSION_SLOTS];
+
+    private record Entry(LocalDate date, LongSortedSet recommended, LongSortedSet partners) {
+        long estimatedBytes() {
+            return ENTRY_OVERHEAD_BYTES + recommended.estimatedBytes() + partners.estimatedBytes();
+        }
+    }
+
+    /**
+     * 추천 검색에 적용할 제외 집합 (본인 + 해당 날짜에 추천받은 사람 + 대화 중인 사람)
+     */
+    public record Exclusions(long userId, LongSortedSet recommended, LongSortedSet partners) {
+        public boolean contains(long candidateId) {
+            return candidateId == userId || recommended.contains(candidateId) || partners.contains(candidateId);
+        }
+
+        public int size() {
+            return 1 + recommended.size() + partners.size();
+        }
+    }
+
+    public Exclusions get(Long userId, LocalDate date) {
+        Entry entry = null;
+        // DB 조회 중 증분 갱신이 있었으면 조회 결과에 빠졌을 수 있으므로 한 번 더 읽음
+        for (int attempt = 0; attempt < 2; attempt++) {
+            long readVersion;
+            synchronized (this) {
+                Entry cached = entries.get(userId);
+                if (cached != null && cached.date().equals(date)) {
+                    return toExclusions(userId, cached);
+                }
+                readVersion = versions[slot(userId)];
+            }
+            entry = load(userId, date);
+            synchronized (this) {
+                // 그 사이 다른 요청이 읽어서 넣었으면 (이후 증분 갱신이 반영된) 그 항목을 사용
+                Entry cached = entries.get(userId);
+                if (cached != null && cached.date().equals(date)) {
+                    return toExclusions(userId, cached);
+                }
+                if (readVersion == versions[slot(userId)]) {
+                    put(userId, entry);
+                    return toExclusions(userId, entry);
+                }
+            }
+        }
+        // 계속 갱신 중이면 캐시하지 않고 마지막으로 읽은 결과만 사용
+        return toExclusions(userId, entry);
+    }
+
+    /**
+     * 추천 기록이 저장될 때 호출 (트랜잭션 안이면 커밋 후에 반영)
+     */
+    public void recordRecommendations(Long userId, Collection<Long> recommendedUserIds, LocalDate date) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (this) {
+                versions[slot(userId)]++;
+                Entry entry = entries.get(userId);
+                if (entry == null || !entry.date().equals(date)) {
+                    return; // 캐시에 없으면 다음 조회 때 DB 에서 읽음 (버전은 올렸으므로 진행 중인 조회는 캐시되지 않음)
+                }
+                LongSortedSet recommended = entry.recommended();
+                for (Long recommendedUserId : recommendedUserIds) {
+                    recommended = recommended.with(recommendedUserId);
+                }
+                replace(userId, entry, new Entry(entry.date(), recommended, entry.partners()));
+            }
+        });
+    }
+
+    /**
+     * 두 사용자 사이에 채팅방(Participant)이 생겼을 때 호출 (트랜잭션 안이면 커밋 후에 반영)
+     */
+    public void recordChatStarted(Long userId1, Long userId2) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (this) {
+                addPartner(userId1, userId2);
+                addPartner(userId2, userId1);
+            }
+        });
+    }
+
+    public synchronized void evict(Long userId) {
+        versions[slot(userId)]++;
+        Entry removed = entries.remove(userId);
+        if (removed != null) {
+            totalBytes -= removed.estimatedBytes();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long estimatedBytes() {
+        return totalBytes;
+    }
+
+    private static Exclusions toExclusions(Long userId, Entry entry) {
+        return new Exclusions(userId, entry.recommended(), entry.partners());
+    }
+
+    private static int slot(Long userId) {
+        return (int) Math.floorMod(userId, (long) VERSION_SLOTS);
+    }
+
+    private Entry load(Long userId, LocalDate date) {
+        List<Long> recommendedIds = recommendationRepository.findRecommendedUserIdsByUserIdAndDate(userId, date);
+        LongSortedSet recommended = LongSortedSet.of(recommendedIds);
+        // 아직 DB 에 쓰이지 않은 write-behind 기록도 포함
+        if (recommendationWriteBuffer.isEnabled()) {
+            for (Long pendingId : recommendationWriteBuffer.pendingRecommendedUserIds(userId, date)) {
+                recommended = recommended.with(pendingId);
+            }
+        }
+        LongSortedSet partners = LongSortedSet.of(participantRepository.findChattingPartnerIdsByUserId(userId));
+        return new Entry(date, recommended, partners);
+    }
+
+    private synchronized void put(Long userId, Entry entry) {
+        Entry previous = entries.put(userId, entry);
+        if (previous != null) {
+            totalBytes -= previous.estimatedBytes();
+        }
+        totalBytes += entry.estimatedBytes();
+        evictOverBudget();
+    }
+
+    private void addPartner(Long userId, Long partnerId) {
+        versions[slot(userId)]++;
+        Entry entry = entries.get(userId);
+        if (entry != null) {
+            replace(userId, entry, new Entry(entry.date(), entry.recommended(), entry.partners().with(partnerId)));
+        }
+    }
+
+    private void replace(Long userId, Entry previous, Entry next) {
+        entries.put(userId, next);
+        totalBytes += next.estimatedBytes() - previous.estimatedBytes();
+        evictOverBudget();
+    }
+
+    private void evictOverBudget() {
+        var iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<Long, Entry> eldest = iterator.next();
+            totalBytes -= eldest.getValue().estimatedBytes();
+            iterator.remove();
+        }
+    }
+}
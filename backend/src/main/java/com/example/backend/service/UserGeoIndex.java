@@ -0,0 +1,154 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.util.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * users.latitude/longitude 에 대한 인메모리 격자(grid) 인덱스
+ * 반경 검색 시 전체 사용자를 훑는 대신, 반경 원과 겹치는 셀만 방문
+ * - UserService 에서 사용자를 저장/온보딩할 때마다 update()로 갱신
+ * - 서버 시작 시 DB 의 좌표 정보로 한 번 채움
+ */
+@Component
+@RequiredArgsConstructor
+public class UserGeoIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserGeoIndex.class);
+
+    // 셀 한 변의 크기(도 단위): 0.1도 ≈ 위도 방향 11km → 50km 반경이면 약 10 x 12 셀만 방문
+    private static final double CELL_SIZE_DEG = 0.1;
+
+    private final UserRepository userRepository;
+
+    // 셀 키 -> (사용자 ID -> 위치 정보)
+    private final Map<Long, Map<Long, Entry>> cells = new ConcurrentHashMap<>();
+    // 사용자 ID -> 현재 인덱스에 들어있는 위치 정보 (셀 이동 시 이전 셀에서 제거하기 위함)
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(long userId, double latitude, double longitude, User.Gender gender, long cellKey) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        List<Object[]> rows = userRepository.findAllLocations();
+        for (Object[] row : rows) {
+            put((Long) row[0], (Double) row[1], (Double) row[2], (User.Gender) row[3]);
+        }
+        log.info(">>>>> 위치 인덱스 초기화 완료, 사용자 수: {}, 셀 수: {}", entries.size(), cells.size());
+    }
+
+    /**
+     * 사용자의 위치/성별이 바뀌었을 때 인덱스를 갱신
+     * SQL 과 결과를 맞추기 위해 좌표나 성별이 없는 사용자는 인덱스에서 제외
+     */
+    public void update(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        put(user.getId(), user.getLatitude(), user.getLongitude(), user.getGender());
+    }
+
+    public void remove(Long userId) {
+        Entry previous = entries.remove(userId);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    /**
+     * UserRepository.findUsersNearBy 와 같은 조건으로 반경 내 '다른 성별' 사용자 ID 를 찾음
+     * @param latitude 현재 사용자 위도
+     * @param longitude 현재 사용자 경도
+     * @param distance 검색할 반경 (km)
+     * @param currentUserGender 현재 사용자의 성별 (반대 성별을 찾기 위함)
+     * @param excluded 제외할 사용자 판별 (본인, 이미 추천한 사람 등)
+     * @param limit 최대 결과 수
+     * @return 추천 대상 사용자 ID 목록
+     */
+    public List<Long> findNearbyUserIds(double latitude, double longitude, double distance,
+                                        User.Gender currentUserGender, LongPredicate excluded, int limit) {
+        List<Long> result = new ArrayList<>();
+
+        GeoUtils.BoundingBox box = GeoUtils.boundingBox(latitude, longitude, distance);
+        int minLatIdx = latIndex(box.minLat());
+        int maxLatIdx = latIndex(box.maxLat());
+        int minLonIdx = lonIndex(box.minLon());
+        int maxLonIdx = lonIndex(box.maxLon());
+
+        for (int latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+            for (int lonIdx = minLonIdx; lonIdx <= maxLonIdx; lonIdx++) {
+                Map<Long, Entry> cell = cells.get(cellKey(latIdx, lonIdx));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry entry : cell.values()) {
+                    if (entry.gender() == currentUserGender || excluded.test(entry.userId())) {
+                        continue;
+                    }
+                    if (GeoUtils.distanceKm(latitude, longitude, entry.latitude(), entry.longitude()) < distance) {
+                        result.add(entry.userId());
+                        if (result.size() >= limit) {
+                            return result;
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(Long userId, Double latitude, Double longitude, User.Gender gender) {
+        if (latitude == null || longitude == null || gender == null) {
+            remove(userId);
+            return;
+        }
+        long key = cellKey(latIndex(latitude), lonIndex(longitude));
+        Entry entry = new Entry(userId, latitude, longitude, gender, key);
+
+        Entry previous = entries.put(userId, entry);
+        if (previous != null && previous.cellKey() != key) {
+            removeFromCell(previous);
+        }
+        cells.compute(key, (k, cell) -> {
+            Map<Long, Entry> target = cell == null ? new ConcurrentHashMap<>() : cell;
+            target.put(userId, entry);
+            return target;
+        });
+    }
+
+    private void removeFromCell(Entry entry) {
+        cells.computeIfPresent(entry.cellKey(), (k, cell) -> {
+            cell.remove(entry.userId(), entry);
+            return cell.isEmpty() ? null : cell;
+        });
+    }
+
+    private static int latIndex(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / CELL_SIZE_DEG);
+    }
+
+    private static int lonIndex(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / CELL_SIZE_DEG);
+    }
+
+    private static long cellKey(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+}
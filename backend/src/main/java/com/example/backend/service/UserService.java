@@ -1,136 +1,152 @@
 package com.example.backend.service;
 
 import com.example.backend.controller.UserController;
-import com.example.backend.dto.AiResponseDto;
 import com.example.backend.dto.OnboardingRequestDto;
+import com.example.backend.entity.PointLedger;
 import com.example.backend.entity.User;
 import com.example.backend.exception.InsufficientPointsException;
 import com.example.backend.exception.UserNotFoundException;
+import com.example.backend.repository.PointLedgerRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.service.LocationService;
+import com.example.backend.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.File;
-
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     // 로깅용 Logger 객체
     private static final Logger log = LoggerFactory.getLogger(UserController.class);
-    private static final String DEFAULT_INTRO = "새로운 인연을 원하는 시니어입니다.";
     private static final String DEFAULT_PROFILE = "https://placehold.co/100x100";
+    // 온보딩 요청에 좌표가 없을 때 쓰는 기본 좌표 (동작구)
+    private static final double DEFAULT_LATITUDE = 37.4945402275658;
+    private static final double DEFAULT_LONGITUDE = 126.95977107078;
 
     private final UserRepository userRepository;
+    private final PointLedgerRepository pointLedgerRepository;
     private final FileStorageService fileStorageService;
-    private final AiRequestService aiRequestService;
+    private final AnalysisJobWorker analysisJobWorker;
+    private final AiAnalysisService aiAnalysisService;
     private final LocationService locationService;
+    private final UserGeoIndex userGeoIndex;
+    private final DailyRecommendationCache dailyRecommendationCache;
 
     @Transactional
     public User onboardUser(OnboardingRequestDto requestDto) {
         // 1. 영상 파일과 프로필 사진을 서버에 저장
         String videoPath = fileStorageService.storeFile(requestDto.getVideo());
+        return onboardUserWithVideo(videoPath, requestDto.getProfileUrl());
+    }
+
+    /**
+     * 이미 저장된 영상으로 온보딩 (분할 업로드 완료 시 사용)
+     * @param videoPath 저장된 영상 경로 (/media/...)
+     * @param profileUrl 프로필 사진 URL (없으면 기본 이미지)
+     */
+    @Transactional
+    public User onboardUserWithVideo(String videoPath, String profileUrl) {
+        return onboardUserWithVideo(videoPath, profileUrl, null);
+    }
 
-        // 2. 좌표 -> 지역명 변환 (실제 사용 시 이 부분 활성화; 테스트: 더미로 처리)
-        // String cityAndDistrict = locationService.getCityAndDistrict(requestDto.getLatitude(), requestDto.getLongitude());
+    /**
+     * 이미 저장된 영상으로 온보딩
+     * @param aiTaskId 업로드와 함께 AI 분석을 이미 요청했으면 그 task_id (TeeUploadService), 아니면 null 이고 작업 큐로 요청
+     */
+    @Transactional
+    public User onboardUserWithVideo(String videoPath, String profileUrl, String aiTaskId) {
+        // 1. 내용 주소 방식이면 영상 참조 수 증가 (온보딩이 실패하면 함께 롤백)
+        videoPath = fileStorageService.addReference(videoPath);
+
+        // 2. 좌표 -> 지역명 변환 (클라이언트가 아직 좌표를 보내지 않으므로 기본 좌표 사용)
+        // 지역명 조회(카카오 API 대체 조회 포함)가 실패해도 온보딩은 진행하고 기본 지역명 사용
+        String cityAndDistrict = null;
+        try {
+            cityAndDistrict = locationService.getCityAndDistrict(DEFAULT_LATITUDE, DEFAULT_LONGITUDE);
+        } catch (RuntimeException e) {
+            log.warn(">>>>> 지역명 조회 실패, 기본 지역명 사용: {}", e.toString());
+        }
 
         // 3. AI 분석 전, 'PROCESSING' 상태로 기본 User 정보만 먼저 생성하고 DB에 저장
         User newUser = User.builder()
                 .videoUrl(videoPath)
-                .profileUrl(requestDto.getProfileUrl() == null ? DEFAULT_PROFILE : requestDto.getProfileUrl())
-                //.latitude(requestDto.getLatitude())
-                //.longitude(requestDto.getLongitude())
-                //.location(cityAndDistrict)
+                .profileUrl(profileUrl == null ? DEFAULT_PROFILE : profileUrl)
+                .latitude(DEFAULT_LATITUDE)
+                .longitude(DEFAULT_LONGITUDE)
+                .location(shortLocation(cityAndDistrict))
                 .status(User.Status.PROCESSING) // 처리중 상태로
                 .point(100)
                 .build();
 
+        // 같은 영상으로 이미 분석이 끝난 사용자가 있으면 결과를 복사해서 바로 완료 (AI 서버 왕복 생략)
+        boolean reused = aiAnalysisService.reuseCompletedAnalysis(newUser);
+
         User savedUser = userRepository.save(newUser);
+        // 온보딩이 롤백되면 색인에 없는 사용자가 남지 않도록 커밋 뒤에 반영
+        TransactionUtils.afterCommit(() -> userGeoIndex.update(savedUser));
+        if (reused) {
+            return savedUser;
+        }
+        if (aiTaskId != null) {
+            // 업로드하면서 이미 분석을 요청했으므로 task_id 만 기록하고 결과는 콜백/폴링으로 받음
+            aiAnalysisService.attachSubmittedTask(savedUser, aiTaskId);
+            return savedUser;
+        }
 
-        // 4. 실제 AI 분석은 비동기 메서드에 위임하고, 컨트롤러에는 즉시 사용자 객체를 반환
-        // processAiAnalysisInBackground(savedUser, videoPath);
-        // ** 수정: 비동기 메서드에 User 객체 대신 'ID'를 전달
-        processAiAnalysisInBackground(savedUser.getId(), videoPath);
+        // 4. 실제 AI 분석 요청은 같은 트랜잭션에서 작업 큐에 넣고, 컨트롤러에는 즉시 사용자 객체를 반환
+        // 사용자와 함께 커밋되므로 서버가 재시작되어도 작업이 사라지지 않고, 워커(AnalysisJobWorker)가 어느 노드에서든 처리
+        // 결과는 AI 서버 콜백(또는 폴링)으로 받으므로 결과를 기다리는 스레드나 DB 커넥션이 없음
+        analysisJobWorker.enqueue(savedUser.getId(), videoPath);
 
         return savedUser;
     }
 
-    @Async // 이 메서드는 별도의 스레드에서 실행됩니다.
+    /**
+     * 포인트 차감과 원장 기록
+     * 잔액 검사와 차감을 조건부 UPDATE 한 문장으로 처리하므로 행 잠금은 그 문장부터 커밋까지만 잡힘
+     * @param reason 원장에 남길 차감 사유
+     */
     @Transactional
-    public void processAiAnalysisInBackground(Long userId, String videoPath) {
-        // ** 수정: 전달받은 ID로 DB에서 '실제' User 엔티티를 다시 조회합니다.
-        // 이렇게 하면 이 'user' 객체는 현재 트랜잭션에서 관리되는 "라이브" 상태가 됩니다.
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("AI 분석 중 사용자를 찾을 수 없습니다: " + userId));
-
-        try {
-            // File videoFile = fileStorageService.getFileByPath(videoPath);
-            File videoFile = fileStorageService.getFile(fileStorageService.getFileStorageLocation().resolve(videoPath.substring("/media/" .length())).toString());
-
-            // 1. AI 서버에 분석 요청 후 task_id 받기
-            String taskId = aiRequestService.requestVideoProcessing(videoFile);
-
-            // 2. 작업이 완료될 때까지 5초 간격으로 폴링
-            for (int i = 0; i < 60; i++) { // 최대 5분(60 * 5초) 대기
-                Thread.sleep(5000); // 5초 대기
-                AiResponseDto aiResponse = aiRequestService.getProcessingResult(taskId);
-
-                if (aiResponse != null) {
-                    // 3. 결과 받으면 User 정보 업데이트 후 루프 종료
-                    user.setName(aiResponse.getName() == null ? "미상" : aiResponse.getName());
-                    user.setAge(aiResponse.getAge() == null ? "미상" : aiResponse.getAge());
-                    user.setHobbies(aiResponse.getHobbies());
-
-
-                    //user.setGender(aiResponse.getGender() == null ? User.Gender.F : User.Gender.valueOf(aiResponse.getGender())); // default=F로 설정
-                    if (aiResponse.getGender() != null && !aiResponse.getGender().isBlank()) {
-                        try {
-                            user.setGender(User.Gender.valueOf(aiResponse.getGender().toUpperCase()));
-                        } catch (IllegalArgumentException e) {
-                            log.warn("AI 서버로부터 유효하지 않은 gender 값 수신: {}", aiResponse.getGender());
-                        }
-                    }
-
-                    user.setIntroduction(aiResponse.getIntroduction() == null ? DEFAULT_INTRO : aiResponse.getIntroduction());
-                    user.setStatus(User.Status.COMPLETE); // 상태를 '완료'로 변경
-                    userRepository.save(user);
-
-                    log.info(">>>>> AI 분석 및 사용자 정보 업데이트 성공, User ID: {}", user.getId());
-                    return; // 성공했으므로 메서드 종료
-                }
+    public void deductPoints(Long userId, int pointsToDeduct, PointLedger.Reason reason) {
+        if (userRepository.deductPoints(userId, pointsToDeduct) == 0) {
+            if (!userRepository.existsById(userId)) {
+                throw new RuntimeException("User not found");
             }
-            // [핵심 수정] for 루프가 모두 끝난 후에 타임아웃 예외를 발생시킵니다.
-            throw new RuntimeException("AI 분석 작업 시간 초과, Task ID: " + taskId);
-
-        } catch (Exception e) {
-            log.error("[Task ID: " + user.getId() + "] AI 분석 비동기 처리 중 오류 발생", e);
-            // 오류 발생 시 상태를 '실패'로 변경
-            user.setStatus(User.Status.FAILED);
-            userRepository.save(user);
+            throw new InsufficientPointsException("Not enough points");
         }
+        pointLedgerRepository.save(PointLedger.builder()
+                .userId(userId)
+                .amount(-pointsToDeduct)
+                .reason(reason)
+                .build());
     }
 
-    @Transactional
-    public void deductPoints(Long userId, int pointsToDeduct) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        int currentPoints = user.getPoint();
-        if (currentPoints < pointsToDeduct) {
-            throw new InsufficientPointsException("Not enough points"); // 실제로는 비즈니스 예외 처리 필요
+    /**
+     * "서울특별시 동작구" -> "동작" (화면에 짧게 표시하는 지역명, 변환하지 못했으면 null 이고 기본값 사용)
+     */
+    private static String shortLocation(String cityAndDistrict) {
+        if (cityAndDistrict == null || cityAndDistrict.isBlank()) {
+            return null;
         }
-
-        user.setPoint(currentPoints - pointsToDeduct);
-        userRepository.save(user);
+        String district = cityAndDistrict.substring(cityAndDistrict.lastIndexOf(' ') + 1);
+        if (district.length() > 2 && (district.endsWith("구") || district.endsWith("군") || district.endsWith("시"))) {
+            return district.substring(0, district.length() - 1);
+        }
+        return district;
     }
 
     public User save(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // 호출한 쪽 트랜잭션이 커밋되기 전에 무효화하면 그 사이 조회가 이전 프로필을 다시 캐시할 수 있으므로 커밋 뒤에 반영
+        TransactionUtils.afterCommit(() -> {
+            userGeoIndex.update(savedUser);
+            dailyRecommendationCache.invalidateRecommendedUser(savedUser.getId());
+        });
+        return savedUser;
     }
 
     public User findById(Long id) {
@@ -0,0 +1,56 @@
+package com.example.backend.util;
+
+/**
+ * 위경도 거리 계산 및 반경 검색용 헬퍼
+ * UserRepository 의 native 쿼리와 같은 식(구면 코사인 법칙, 지구 반지름 6371km)을 사용
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    // 위도 1도에 해당하는 거리(km)
+    private static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180.0;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * 두 좌표 사이의 거리(km)
+     * SQL 의 6371 * acos(...) 와 동일하며, 부동소수점 오차로 1을 살짝 넘는 경우만 보정
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double radLat1 = Math.toRadians(lat1);
+        double radLat2 = Math.toRadians(lat2);
+        double cosine = Math.cos(radLat1) * Math.cos(radLat2) * Math.cos(Math.toRadians(lon2) - Math.toRadians(lon1))
+                + Math.sin(radLat1) * Math.sin(radLat2);
+        return EARTH_RADIUS_KM * Math.acos(Math.max(-1.0, Math.min(1.0, cosine)));
+    }
+
+    /**
+     * 중심 좌표에서 반경 distanceKm 원을 완전히 포함하는 위경도 사각형
+     * 극지방이나 날짜변경선에 걸치는 경우 경도 범위를 전체(-180 ~ 180)로 넓혀서 누락이 없도록 함
+     */
+    public static BoundingBox boundingBox(double latitude, double longitude, double distanceKm) {
+        double deltaLat = distanceKm / KM_PER_DEGREE;
+        double minLat = latitude - deltaLat;
+        double maxLat = latitude + deltaLat;
+
+        if (minLat <= -90.0 || maxLat >= 90.0) {
+            return new BoundingBox(Math.max(minLat, -90.0), Math.min(maxLat, 90.0), -180.0, 180.0);
+        }
+
+        // 원 위에서 경도 폭이 가장 넓어지는 지점 기준 (asin(sin(r)/cos(lat)))
+        double angularDistance = distanceKm / EARTH_RADIUS_KM;
+        double deltaLon = Math.toDegrees(Math.asin(Math.min(1.0, Math.sin(angularDistance) / Math.cos(Math.toRadians(latitude)))));
+        double minLon = longitude - deltaLon;
+        double maxLon = longitude + deltaLon;
+
+        if (minLon < -180.0 || maxLon > 180.0) {
+            return new BoundingBox(minLat, maxLat, -180.0, 180.0);
+        }
+        return new BoundingBox(minLat, maxLat, minLon, maxLon);
+    }
+
+    public record BoundingBox(double minLat, double maxLat, double minLon, double maxLon) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.backend.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 정렬된 long[] 기반의 불변(immutable) 정수 집합
+ * Long 객체/해시 테이블 없이 원소당 8바이트만 사용하고, contains 는 이진 탐색
+ * 원소 추가는 새 배열을 만드는 copy-on-write 방식이라 여러 스레드에서 잠금 없이 읽을 수 있음
+ */
+public final class LongSortedSet {
+
+    public static final LongSortedSet EMPTY = new LongSortedSet(new long[0]);
+
+    private final long[] values;
+
+    private LongSortedSet(long[] values) {
+        this.values = values;
+    }
+
+    public static LongSortedSet of(Collection<Long> source) {
+        if (source.isEmpty()) {
+            return EMPTY;
+        }
+        long[] values = source.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        return new LongSortedSet(values);
+    }
+
+    public boolean contains(long value) {
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    /**
+     * value 를 추가한 새 집합 (이미 있으면 자기 자신)
+     */
+    public LongSortedSet with(long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index >= 0) {
+            return this;
+        }
+        int insertAt = -index - 1;
+        long[] next = new long[values.length + 1];
+        System.arraycopy(values, 0, next, 0, insertAt);
+        next[insertAt] = value;
+        System.arraycopy(values, insertAt, next, insertAt + 1, values.length - insertAt);
+        return new LongSortedSet(next);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * 대략적인 메모리 사용량 (배열 헤더 + 원소)
+     */
+    public long estimatedBytes() {
+        return 16L + 8L * values.length;
+    }
+}
@@ -0,0 +1,12 @@
+-- Recommendation.id 의 @SequenceGenerator(sequenceName = "recommendations_seq", allocationSize = 50) 용 테이블
+-- MySQL 에는 시퀀스가 없어서 Hibernate 가 next_val 한 행짜리 테이블로 대신함
+-- spring.jpa.hibernate.ddl-auto=update 면 자동으로 만들어지지만, 스키마를 직접 관리하는 환경에서는 배포 전에 실행
+--
+-- pooled 최적화는 읽은 값 v 에서 (v - 49) ~ v 를 쓰므로, IDENTITY 로 만든 기존 id 와 겹치지 않도록 MAX(id) + 51 부터 시작
+CREATE TABLE IF NOT EXISTS recommendations_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO recommendations_seq (next_val)
+SELECT start_val FROM (SELECT COALESCE(MAX(id), 0) + 51 AS start_val FROM recommendations) r
+WHERE NOT EXISTS (SELECT 1 FROM recommendations_seq);
@@ -0,0 +1,99 @@
+package com.example.backend;
+
+import com.example.backend.entity.PointLedger;
+import com.example.backend.entity.User;
+import com.example.backend.exception.InsufficientPointsException;
+import com.example.backend.repository.PointLedgerRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한 사용자의 포인트를 여러 스레드가 동시에 차감해도 잔액이 음수가 되지 않고 원장 합계와 맞는지 확인
+ */
+@SpringBootTest
+class PointDeductionConcurrencyTest {
+
+    private static final int THREADS = 20;
+    private static final int INITIAL_POINT = 100;
+    private static final int DEDUCT_POINT = 10;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PointLedgerRepository pointLedgerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @AfterEach
+    void cleanUp() {
+        if (userId != null) {
+            jdbcTemplate.update("DELETE FROM point_ledger WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void concurrentDeductionsNeverOverdraw() throws Exception {
+        User user = new User();
+        user.setName("concurrency-test");
+        user.setVideoUrl("/media/concurrency-test.mp4");
+        user.setStatus(User.Status.COMPLETE);
+        user.setPoint(INITIAL_POINT);
+        userId = userRepository.save(user).getId();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        userService.deductPoints(userId, DEDUCT_POINT, PointLedger.Reason.ADDITIONAL_RECOMMENDATION);
+                        succeeded.incrementAndGet();
+                    } catch (InsufficientPointsException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int expectedSuccesses = INITIAL_POINT / DEDUCT_POINT;
+        assertThat(succeeded.get()).isEqualTo(expectedSuccesses);
+        assertThat(rejected.get()).isEqualTo(THREADS - expectedSuccesses);
+        assertThat(userRepository.findById(userId).orElseThrow().getPoint()).isZero();
+        assertThat(pointLedgerRepository.sumAmountByUserId(userId)).isEqualTo(-(long) INITIAL_POINT);
+    }
+}
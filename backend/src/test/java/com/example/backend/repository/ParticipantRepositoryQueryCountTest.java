@@ -0,0 +1,122 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.ChatRoomDto;
+import com.example.backend.entity.Participant;
+import com.example.backend.entity.Room;
+import com.example.backend.entity.User;
+import com.example.backend.service.ChatService;
+import com.example.backend.service.ChatStreamService;
+import com.example.backend.service.HobbyDictionary;
+import com.example.backend.service.RecentMessageCache;
+import com.example.backend.service.UserExclusionCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 채팅방 목록 조회(ChatService.findMyChatRooms)가 채팅방 수와 관계없이 쿼리 한 번으로 끝나는지 확인
+ * (상대방 Participant 의 room, user 를 DTO 로 바꿀 때 지연 로딩 쿼리가 나가지 않아야 함)
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ParticipantRepositoryQueryCountTest {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private ChatService chatService;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // 채팅방 목록 조회에 쓰이지 않는 협력 객체는 mock
+        chatService = new ChatService(roomRepository, messageRepository, participantRepository, userRepository,
+                mock(UserExclusionCache.class), new HobbyDictionary(new ObjectMapper()),
+                mock(ChatStreamService.class), mock(RecentMessageCache.class));
+    }
+
+    @Test
+    void roomListQueryCountDoesNotGrowWithRooms() {
+        User fewRoomsUser = createUserWithRooms("few", 1);
+        User manyRoomsUser = createUserWithRooms("many", 20);
+        entityManager.flush();
+
+        assertThat(queriesToLoadRoomList(fewRoomsUser.getId(), 1)).isEqualTo(1);
+        assertThat(queriesToLoadRoomList(manyRoomsUser.getId(), 20)).isEqualTo(1);
+    }
+
+    /**
+     * 채팅방 목록을 DTO 까지 만드는 동안 실행된 쿼리 수
+     */
+    private long queriesToLoadRoomList(Long userId, int expectedRooms) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<ChatRoomDto> rooms = chatService.findMyChatRooms(userId);
+        long queries = statistics.getPrepareStatementCount();
+
+        assertThat(rooms).hasSize(expectedRooms);
+        for (int i = 0; i < rooms.size(); i++) {
+            ChatRoomDto room = rooms.get(i);
+            assertThat(room.getOpponentName()).isNotNull();
+            assertThat(room.getOpponentHobbies()).containsExactly("등산");
+            // 내 참가자 행의 안 읽은 수, 마지막으로 읽은 메시지 ID 가 그대로 전달됨 (생성 순서대로 정렬)
+            assertThat(room.getUnreadCount()).isEqualTo(i);
+            assertThat(room.getLastReadMessageId()).isEqualTo(i == 0 ? null : (long) i);
+        }
+        return queries;
+    }
+
+    private User createUserWithRooms(String prefix, int roomCount) {
+        User me = entityManager.persist(user(prefix + "-me"));
+        for (int i = 0; i < roomCount; i++) {
+            User opponent = entityManager.persist(user(prefix + "-opponent-" + i));
+            Room room = Room.builder().lastMessage("영상이 도착했습니다.").build();
+            room.addParticipant(Participant.builder()
+                    .user(me)
+                    .unreadCount(i)
+                    .lastReadMessageId(i == 0 ? null : (long) i)
+                    .build());
+            room.addParticipant(Participant.builder().user(opponent).build());
+            entityManager.persist(room);
+        }
+        return me;
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setVideoUrl("/media/" + name + ".mp4");
+        user.setStatus(User.Status.COMPLETE);
+        user.setHobbies("[\"등산\"]");
+        return user;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.AiTaskDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * AI 서버 작업 상태 일괄 조회(/tasks/status) 요청/응답 변환 확인
+ */
+class AiRequestServiceTest {
+
+    private static final String AI_SERVER_URL = "http://ai-server";
+
+    private MockRestServiceServer server;
+    private AiRequestService aiRequestService;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        aiRequestService = new AiRequestService(restTemplate, new RestTemplate());
+        ReflectionTestUtils.setField(aiRequestService, "aiServerUrl", AI_SERVER_URL);
+    }
+
+    @Test
+    void getTasksPostsTaskIdsAndParsesStatuses() {
+        server.expect(requestTo(AI_SERVER_URL + "/tasks/status"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("{\"task_ids\": [\"t1\", \"t2\", \"t3\", \"t4\"]}"))
+                .andRespond(withSuccess("""
+                        {
+                          "t1": {"status": "completed", "result": {"name": "홍길동", "age": "60대 후반", "gender": "M"}},
+                          "t2": {"status": "processing"},
+                          "t3": {"status": "failed", "error": "얼굴을 찾을 수 없습니다"},
+                          "t4": {"status": "not_found"}
+                        }
+                        """, MediaType.APPLICATION_JSON));
+
+        Map<String, AiTaskDto> tasks = aiRequestService.getTasks(List.of("t1", "t2", "t3", "t4"));
+
+        server.verify();
+        assertThat(tasks).containsOnlyKeys("t1", "t2", "t3", "t4");
+        assertThat(tasks.get("t1").isCompleted()).isTrue();
+        assertThat(tasks.get("t1").getResult().getName()).isEqualTo("홍길동");
+        assertThat(tasks.get("t1").getResult().getGender()).isEqualTo("M");
+        assertThat(tasks.get("t2").isCompleted()).isFalse();
+        assertThat(tasks.get("t2").isFailed()).isFalse();
+        assertThat(tasks.get("t3").isFailed()).isTrue();
+        assertThat(tasks.get("t3").getError()).isEqualTo("얼굴을 찾을 수 없습니다");
+        assertThat(tasks.get("t4").isNotFound()).isTrue();
+    }
+
+    @Test
+    void getTasksKeepsCompletedTaskWithoutResult() {
+        server.expect(requestTo(AI_SERVER_URL + "/tasks/status"))
+                .andRespond(withSuccess("{\"t1\": {\"status\": \"completed\"}}", MediaType.APPLICATION_JSON));
+
+        Map<String, AiTaskDto> tasks = aiRequestService.getTasks(List.of("t1"));
+
+        server.verify();
+        // 결과 없는 완료 응답도 그대로 전달되어 handleTaskResult 에서 실패로 처리됨
+        assertThat(tasks.get("t1").isCompleted()).isTrue();
+        assertThat(tasks.get("t1").getResult()).isNull();
+    }
+
+    @Test
+    void getTasksReturnsEmptyMapForEmptyBody() {
+        server.expect(requestTo(AI_SERVER_URL + "/tasks/status"))
+                .andRespond(withSuccess());
+
+        assertThat(aiRequestService.getTasks(List.of("t1"))).isEmpty();
+        server.verify();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 행정구역 경계 색인(STR-tree) 조회 확인: 구멍(hole), MultiPolygon, 경계 밖 좌표, 다각형이 많아 트리가 여러 단계인 경우
+ */
+class DistrictResolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    // 좌표는 [경도, 위도]
+    private static final String SAMPLE = """
+            {"type": "FeatureCollection", "features": [
+              {"type": "Feature", "properties": {"city": "테스트시", "district": "도넛구"},
+               "geometry": {"type": "Polygon", "coordinates": [
+                 [[0, 0], [10, 0], [10, 10], [0, 10], [0, 0]],
+                 [[4, 4], [6, 4], [6, 6], [4, 6], [4, 4]]
+               ]}},
+              {"type": "Feature", "properties": {"city": "테스트시", "district": "구멍속구"},
+               "geometry": {"type": "Polygon", "coordinates": [
+                 [[4, 4], [6, 4], [6, 6], [4, 6], [4, 4]]
+               ]}},
+              {"type": "Feature", "properties": {"city": "테스트시", "district": "섬구"},
+               "geometry": {"type": "MultiPolygon", "coordinates": [
+                 [[[20, 0], [22, 0], [22, 2], [20, 2], [20, 0]]],
+                 [[[30, 30], [32, 30], [32, 32], [30, 32], [30, 30]]]
+               ]}},
+              {"type": "Feature", "properties": {"city": "테스트시"},
+               "geometry": {"type": "Polygon", "coordinates": [
+                 [[40, 40], [42, 40], [42, 42], [40, 42], [40, 40]]
+               ]}}
+            ]}
+            """;
+
+    @Test
+    void resolvesPolygonWithHole() throws IOException {
+        DistrictResolver resolver = resolver(SAMPLE);
+
+        assertThat(resolver.resolve(1, 1)).isEqualTo("테스트시 도넛구");
+        assertThat(resolver.resolve(9, 2)).isEqualTo("테스트시 도넛구");
+        // 구멍 안은 도넛구가 아니라 구멍을 채우는 구역
+        assertThat(resolver.resolve(5, 5)).isEqualTo("테스트시 구멍속구");
+    }
+
+    @Test
+    void resolvesEveryPartOfMultiPolygon() throws IOException {
+        DistrictResolver resolver = resolver(SAMPLE);
+
+        assertThat(resolver.resolve(1, 21)).isEqualTo("테스트시 섬구");
+        assertThat(resolver.resolve(31, 31)).isEqualTo("테스트시 섬구");
+        // 두 조각 사이
+        assertThat(resolver.resolve(15, 25)).isNull();
+    }
+
+    @Test
+    void returnsNullOutsideAndSkipsFeaturesWithoutName() throws IOException {
+        DistrictResolver resolver = resolver(SAMPLE);
+
+        assertThat(resolver.resolve(-1, -1)).isNull();
+        assertThat(resolver.resolve(41, 41)).isNull();
+        // 이름 없는 feature 는 색인하지 않음, MultiPolygon 은 조각마다 하나씩
+        assertThat(resolver.stats()).containsEntry("polygons", 4);
+    }
+
+    @Test
+    void resolvesThroughMultiLevelTree() throws IOException {
+        // 노드 용량(16)보다 훨씬 많은 구역으로 여러 단계의 트리를 만듦
+        StringBuilder json = new StringBuilder("{\"type\": \"FeatureCollection\", \"features\": [");
+        for (int row = 0; row < 30; row++) {
+            for (int col = 0; col < 30; col++) {
+                if (row + col > 0) {
+                    json.append(',');
+                }
+                json.append(String.format(
+                        "{\"type\": \"Feature\", \"properties\": {\"city\": \"격자시\", \"district\": \"%d-%d구\"},"
+                                + " \"geometry\": {\"type\": \"Polygon\", \"coordinates\": [[[%d, %d], [%d, %d], [%d, %d], [%d, %d], [%d, %d]]]}}",
+                        row, col, col, row, col + 1, row, col + 1, row + 1, col, row + 1, col, row));
+            }
+        }
+        json.append("]}");
+        DistrictResolver resolver = resolver(json.toString());
+
+        assertThat((int) resolver.stats().get("treeHeight")).isGreaterThan(2);
+        assertThat(resolver.resolve(0.5, 0.5)).isEqualTo("격자시 0-0구");
+        assertThat(resolver.resolve(17.5, 3.5)).isEqualTo("격자시 17-3구");
+        assertThat(resolver.resolve(29.5, 29.5)).isEqualTo("격자시 29-29구");
+        assertThat(resolver.resolve(30.5, 30.5)).isNull();
+    }
+
+    @Test
+    void resolvesNothingWhenNoBoundaryFileConfigured() {
+        DistrictResolver resolver = new DistrictResolver(new DefaultResourceLoader(), new ObjectMapper());
+        ReflectionTestUtils.setField(resolver, "districtsPath", "");
+        resolver.load();
+
+        // 경계 파일이 없으면 모든 좌표를 카카오 조회로 넘김
+        assertThat(resolver.stats()).containsEntry("polygons", 0);
+        assertThat(resolver.resolve(37.4945402275658, 126.95977107078)).isNull();
+    }
+
+    private DistrictResolver resolver(String geoJson) throws IOException {
+        Path file = tempDir.resolve("districts.geojson");
+        Files.writeString(file, geoJson);
+        DistrictResolver resolver = new DistrictResolver(new DefaultResourceLoader(), new ObjectMapper());
+        ReflectionTestUtils.setField(resolver, "districtsPath", file.toUri().toString());
+        ReflectionTestUtils.setField(resolver, "cityProperty", "city");
+        ReflectionTestUtils.setField(resolver, "districtProperty", "district");
+        resolver.load();
+        return resolver;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * 역지오코딩 캐시: 같은 칸 동시 조회를 한 번으로 묶는지(single-flight), 빈 결과의 짧은 TTL, 디스크 저장/복구
+ */
+class GeocodeCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void concurrentMissesForSameCellCallLoaderOnce() throws Exception {
+        GeocodeCache cache = newCache(null);
+        int threads = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        GeocodeCache.Loader loader = (lat, lng) -> {
+            loads.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "서울특별시 동작구";
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                // 같은 칸 안의 서로 다른 좌표
+                double offset = i * 0.0001;
+                results.add(executor.submit(() -> cache.get(37.4905 + offset, 126.9555 + offset, loader)));
+            }
+            // 첫 요청이 조회하는 동안 나머지가 모두 그 결과를 기다리게 된 뒤에 조회를 끝냄
+            long deadline = System.currentTimeMillis() + 10_000;
+            while ((long) cache.stats().get("collapsed") < threads - 1) {
+                if (System.currentTimeMillis() > deadline) {
+                    fail("동시 조회가 묶이지 않았습니다: " + cache.stats());
+                }
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("서울특별시 동작구");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.stats()).containsEntry("upstreamCalls", 1L).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void failedLoadIsNotCachedAndIsRetried() {
+        GeocodeCache cache = newCache(null);
+        AtomicInteger loads = new AtomicInteger();
+
+        try {
+            cache.get(37.5, 127.0, (lat, lng) -> {
+                loads.incrementAndGet();
+                throw new IllegalStateException("카카오 API 오류");
+            });
+            fail("예외가 전달되어야 합니다.");
+        } catch (IllegalStateException expected) {
+            // 실패는 캐시하지 않음
+        }
+        assertThat(cache.get(37.5, 127.0, (lat, lng) -> {
+            loads.incrementAndGet();
+            return "서울특별시 서초구";
+        })).isEqualTo("서울특별시 서초구");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void emptyResultExpiresAfterNegativeTtl() throws InterruptedException {
+        GeocodeCache cache = newCache(null);
+        ReflectionTestUtils.setField(cache, "negativeTtlMs", 50L);
+        AtomicInteger seaLoads = new AtomicInteger();
+        AtomicInteger landLoads = new AtomicInteger();
+        GeocodeCache.Loader sea = (lat, lng) -> {
+            seaLoads.incrementAndGet();
+            return null;
+        };
+        GeocodeCache.Loader land = (lat, lng) -> {
+            landLoads.incrementAndGet();
+            return "서울특별시 동작구";
+        };
+
+        assertThat(cache.get(35.0, 125.0, sea)).isNull();
+        assertThat(cache.get(35.0, 125.0, sea)).isNull();
+        assertThat(cache.get(37.4945, 126.9598, land)).isEqualTo("서울특별시 동작구");
+        assertThat(seaLoads.get()).isEqualTo(1);
+
+        Thread.sleep(120);
+
+        // 빈 결과만 만료되어 다시 조회하고, 지역명은 그대로 캐시에서
+        assertThat(cache.get(35.0, 125.0, sea)).isNull();
+        assertThat(cache.get(37.4945, 126.9598, land)).isEqualTo("서울특별시 동작구");
+        assertThat(seaLoads.get()).isEqualTo(2);
+        assertThat(landLoads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void snapshotRoundTripRestoresEntries() {
+        Path snapshot = tempDir.resolve("geocode-cache.json");
+        GeocodeCache saved = newCache(snapshot);
+        saved.get(37.4945, 126.9598, (lat, lng) -> "서울특별시 동작구");
+        saved.get(35.0, 125.0, (lat, lng) -> null);
+        saved.saveSnapshot();
+        assertThat(Files.exists(snapshot)).isTrue();
+        assertThat(Files.exists(snapshot.resolveSibling("geocode-cache.json.tmp"))).isFalse();
+
+        GeocodeCache restored = newCache(snapshot);
+        restored.loadSnapshot();
+        GeocodeCache.Loader mustNotLoad = (lat, lng) -> {
+            throw new AssertionError("복구된 캐시에서 조회되어야 합니다.");
+        };
+
+        assertThat(restored.stats()).containsEntry("entries", 2);
+        assertThat(restored.get(37.4945, 126.9598, mustNotLoad)).isEqualTo("서울특별시 동작구");
+        assertThat(restored.get(35.0, 125.0, mustNotLoad)).isNull();
+    }
+
+    @Test
+    void expiredEntriesAreDroppedOnRestore() throws InterruptedException {
+        Path snapshot = tempDir.resolve("geocode-cache.json");
+        GeocodeCache saved = newCache(snapshot);
+        ReflectionTestUtils.setField(saved, "ttlMs", 50L);
+        saved.get(37.4945, 126.9598, (lat, lng) -> "서울특별시 동작구");
+        saved.saveSnapshot();
+
+        Thread.sleep(120);
+
+        GeocodeCache restored = newCache(snapshot);
+        restored.loadSnapshot();
+        assertThat(restored.stats()).containsEntry("entries", 0);
+    }
+
+    private GeocodeCache newCache(Path snapshot) {
+        GeocodeCache cache = new GeocodeCache(new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "gridDegrees", 0.005);
+        ReflectionTestUtils.setField(cache, "maxEntries", 1000);
+        ReflectionTestUtils.setField(cache, "ttlMs", 604_800_000L);
+        ReflectionTestUtils.setField(cache, "negativeTtlMs", 600_000L);
+        ReflectionTestUtils.setField(cache, "snapshotPath", snapshot == null ? "" : snapshot.toString());
+        return cache;
+    }
+}
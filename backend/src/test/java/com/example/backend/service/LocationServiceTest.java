@@ -0,0 +1,97 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.queryParam;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * 카카오 coord2address 조회(fetchCityAndDistrict) 요청/응답 변환과 캐시 재사용 확인
+ * (경계 파일을 읽지 않은 DistrictResolver 라서 항상 카카오 조회로 넘어감)
+ */
+class LocationServiceTest {
+
+    private static final String COORD2ADDRESS_URL = "https://dapi.kakao.com/v2/local/geo/coord2address.json";
+
+    private MockRestServiceServer server;
+    private LocationService locationService;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+
+        GeocodeCache geocodeCache = new GeocodeCache(new ObjectMapper());
+        ReflectionTestUtils.setField(geocodeCache, "gridDegrees", 0.005);
+        ReflectionTestUtils.setField(geocodeCache, "maxEntries", 1000);
+        ReflectionTestUtils.setField(geocodeCache, "ttlMs", 604_800_000L);
+        ReflectionTestUtils.setField(geocodeCache, "negativeTtlMs", 600_000L);
+        ReflectionTestUtils.setField(geocodeCache, "snapshotPath", "");
+
+        DistrictResolver districtResolver = new DistrictResolver(new DefaultResourceLoader(), new ObjectMapper());
+
+        locationService = new LocationService(restTemplate, geocodeCache, districtResolver);
+        ReflectionTestUtils.setField(locationService, "kakaoRestApiKey", "test-key");
+        ReflectionTestUtils.setField(locationService, "coord2AddressUrl", COORD2ADDRESS_URL);
+        ReflectionTestUtils.setField(locationService, "kakaoFallbackEnabled", true);
+    }
+
+    @Test
+    void fetchesRegionNamesWithKakaoKeyAndCachesResult() {
+        // x=경도, y=위도 (칸 중심 좌표로 조회)
+        server.expect(requestTo(startsWith(COORD2ADDRESS_URL)))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("Authorization", "KakaoAK test-key"))
+                .andExpect(queryParam("x", startsWith("126.95")))
+                .andExpect(queryParam("y", startsWith("37.49")))
+                .andRespond(withSuccess("""
+                        {"documents": [{"address": {"region_1depth_name": "서울특별시", "region_2depth_name": "동작구"}}]}
+                        """, MediaType.APPLICATION_JSON));
+
+        assertThat(locationService.getCityAndDistrict(37.4945402275658, 126.95977107078)).isEqualTo("서울특별시 동작구");
+        // 같은 칸은 카카오를 다시 호출하지 않음 (예상 요청이 한 번뿐이라 다시 호출하면 실패)
+        assertThat(locationService.getCityAndDistrict(37.4946, 126.9597)).isEqualTo("서울특별시 동작구");
+        server.verify();
+    }
+
+    @Test
+    void returnsNullWhenNoDocuments() {
+        server.expect(requestTo(startsWith(COORD2ADDRESS_URL)))
+                .andRespond(withSuccess("{\"documents\": []}", MediaType.APPLICATION_JSON));
+
+        assertThat(locationService.getCityAndDistrict(35.0, 125.0)).isNull();
+        server.verify();
+    }
+
+    @Test
+    void returnsNullWhenRegionNameMissing() {
+        server.expect(requestTo(startsWith(COORD2ADDRESS_URL)))
+                .andRespond(withSuccess("""
+                        {"documents": [{"address": {"region_1depth_name": "서울특별시"}}]}
+                        """, MediaType.APPLICATION_JSON));
+
+        assertThat(locationService.getCityAndDistrict(37.5665, 126.978)).isNull();
+        server.verify();
+    }
+
+    @Test
+    void skipsKakaoWhenFallbackDisabled() {
+        ReflectionTestUtils.setField(locationService, "kakaoFallbackEnabled", false);
+
+        assertThat(locationService.getCityAndDistrict(37.4945402275658, 126.95977107078)).isNull();
+        server.verify();
+    }
+}